@@ -0,0 +1,39 @@
+package ed.u2.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Línea base de SortingBenchmark: solo el costo de copiar el arreglo, que SortingBenchmark.sort incluye en cada
+ * operación. No depende del algoritmo, por eso tiene su propio estado con solo dataset y tamaño (una corrida por
+ * combinación en vez de una por algoritmo).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class CopyBaseline {
+
+    @Param({ "citas_100", "citas_100_casi", "pacientes_500", "inventario_500" })
+    public String dataset;
+
+    @Param({ "100", "500", "2000" })
+    public int size;
+
+    private Object[] rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rows = Workload.rows(dataset, size, Path.of(System.getProperty("datasets.dir", "datasets")));
+    }
+
+    @Benchmark
+    public Object[] copy() {
+        return rows.clone();
+    }
+}
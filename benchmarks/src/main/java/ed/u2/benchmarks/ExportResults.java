@@ -0,0 +1,104 @@
+package ed.u2.benchmarks;
+
+import ed.u2.sorting.AllocationStats;
+import ed.u2.sorting.BenchmarkExport;
+import ed.u2.sorting.BenchmarkHistory;
+import ed.u2.sorting.BenchmarkResult;
+import ed.u2.sorting.SortMetrics;
+import ed.u2.sorting.TimingStats;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ejecuta SortingBenchmark con JMH y exporta cada resultado como BenchmarkResult, en CSV (toCsvRow()) y JSON.
+ * Cada iteración medida de JMH (ns/op) es una muestra de tiempo; las métricas salen de una ordenación adicional
+ * fuera de la medición. El JSON se escribe junto al CSV con la extensión cambiada.
+ *
+ * Uso: java -cp benchmarks/target/benchmarks.jar ed.u2.benchmarks.ExportResults [salida.csv] [opciones de JMH...]
+ */
+public final class ExportResults {
+
+    private ExportResults() {}
+
+    public static void main(String[] args) throws Exception {
+        Path out = Path.of(args.length > 0 ? args[0] : "benchmark_results_jmh.csv");
+        String[] jmhArgs = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[0];
+
+        // Las opciones de línea de comandos de JMH (p. ej., -p size=100 -f 1) tienen prioridad sobre las anotaciones.
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs))
+                .include(SortingBenchmark.class.getSimpleName() + "\\.sort$")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        Path datasetsDir = Path.of(System.getProperty("datasets.dir", "datasets"));
+
+        List<BenchmarkResult> exported = new ArrayList<>();
+        for (RunResult r : results) {
+            String algorithm = r.getParams().getParam("algorithm");
+            String dataset = r.getParams().getParam("dataset");
+            int size = Integer.parseInt(r.getParams().getParam("size"));
+
+            // Se cierra al terminar: ParallelMergeSort y AdaptiveSort tienen su propio ForkJoinPool.
+            try (Workload<?> workload = Workload.load(algorithm, dataset, size, datasetsDir)) {
+                SortMetrics metrics = workload.countOnce();
+                exported.add(new BenchmarkResult(algorithm, workload.datasetName(), workload.datasetType(), workload.size(),
+                        metrics, samples(r.getPrimaryResult().getStatistics()), allocation(r), workload.threads()));
+            }
+        }
+
+        Path json = out.resolveSibling(out.getFileName().toString().replaceFirst("\\.csv$", "") + ".json");
+        BenchmarkExport.writeCsv(out, exported);
+        BenchmarkExport.writeJson(json, exported);
+        System.out.println("Resultados exportados: " + out + " y " + json);
+
+        // Con -Dbenchmark.history=archivo los resultados también se agregan al historial que revisa RegressionGate.
+        String history = System.getProperty("benchmark.history");
+        if (history != null) {
+            BenchmarkHistory.append(Path.of(history), BenchmarkHistory.RunInfo.current(), exported);
+            System.out.println("Resultados agregados al historial: " + history);
+        }
+    }
+
+    // Con "-prof gc" JMH reporta bytes por operación y actividad del GC; sin el profiler la memoria queda sin medir.
+    private static AllocationStats allocation(RunResult r) {
+        Map<String, Result> secondary = r.getSecondaryResults();
+        Result bytes = secondary.get("gc.alloc.rate.norm");
+        if (bytes == null) {
+            return AllocationStats.UNKNOWN;
+        }
+        Result count = secondary.get("gc.count");
+        Result time = secondary.get("gc.time");
+        long perOp = Math.round(bytes.getScore());
+        return new AllocationStats(perOp, Math.round(bytes.getStatistics().getMax()),
+                count == null ? -1 : Math.round(count.getScore()), time == null ? -1 : Math.round(time.getScore()));
+    }
+
+    // Cada iteración medida de JMH (en ns/op, de todos los forks) es una muestra.
+    private static TimingStats samples(Statistics statistics) {
+        List<Long> values = new ArrayList<>();
+        Iterator<Map.Entry<Double, Long>> raw = statistics.getRawData();
+        while (raw.hasNext()) {
+            Map.Entry<Double, Long> e = raw.next();
+            for (long i = 0; i < e.getValue(); i++) values.add(Math.round(e.getKey()));
+        }
+        if (values.isEmpty()) values.add(Math.round(statistics.getPercentile(50)));
+
+        long[] out = new long[values.size()];
+        for (int i = 0; i < out.length; i++) out[i] = values.get(i);
+        return TimingStats.of(out);
+    }
+}
@@ -0,0 +1,60 @@
+package ed.u2.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de todos los algoritmos × datasets × tamaños.
+ * Cada combinación de parámetros corre en JVMs separadas (forks), así el perfil del JIT de un algoritmo
+ * no contamina al siguiente; el resultado ordenado se consume en un Blackhole para evitar eliminación de código muerto.
+ * La carpeta de datasets se puede cambiar con -Ddatasets.dir=... (por defecto "datasets", relativo al directorio actual).
+ * Los forks cargan jdk.incubator.vector para que SimdSort pueda usar su camino vectorial (el resto no lo usa).
+ * Tras cada iteración se verifica con SortVerifier la última salida de sort; una salida inválida hace fallar el benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class SortingBenchmark {
+
+    @Param({ "BubbleSort", "InsertionSort", "SelectionSort", "NaturalMergeSort", "ParallelMergeSort", "IntroSort", "AdaptiveSort", "RadixSort",
+            "SimdSort" })
+    public String algorithm;
+
+    @Param({ "citas_100", "citas_100_casi", "pacientes_500", "inventario_500" })
+    public String dataset;
+
+    @Param({ "100", "500", "2000" })
+    public int size;
+
+    private Workload<?> workload;
+
+    // Carga el dataset una sola vez por trial: la lectura del CSV queda fuera de la medición.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workload = Workload.load(algorithm, dataset, size, Path.of(System.getProperty("datasets.dir", "datasets")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        workload.close();
+    }
+
+    // Copia + ordenación. La copia es O(n) y se puede descontar con CopyBaseline.
+    @Benchmark
+    public void sort(Blackhole bh) {
+        workload.sortCopy(bh);
+    }
+
+    // Al final de cada iteración, fuera de la medición, se verifica la última salida ordenada.
+    @TearDown(Level.Iteration)
+    public void verify() {
+        workload.verifyLast();
+    }
+}
@@ -0,0 +1,194 @@
+package ed.u2.benchmarks;
+
+import ed.u2.datasets.CsvDataLoader;
+import ed.u2.datasets.ScalableDatasetGenerator;
+import ed.u2.datasets.ScalableDatasetGenerator.Distribution;
+import ed.u2.datasets.ScalableDatasetGenerator.Kind;
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+import ed.u2.sorting.*;
+import ed.u2.utils.KeyExtractor;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Combinación de dataset + algoritmo lista para medirse.
+ * Mantiene el arreglo original (nunca se ordena) y el algoritmo ya resuelto por nombre.
+ * Con el tamaño del CSV se usan sus filas; con otro tamaño se genera un dataset de ese tamaño con
+ * ScalableDatasetGenerator y la misma distribución de la clave (aleatoria, casi ordenada o inversa), así 'size'
+ * cambia solo N y no la forma de la entrada.
+ *
+ * @param <T> Tipo de los elementos del dataset.
+ */
+public final class Workload<T> implements AutoCloseable {
+
+    // Nombres aceptados por el parámetro "algorithm" de los benchmarks.
+    public static final String[] ALGORITHMS = {
+            "BubbleSort", "InsertionSort", "SelectionSort", "NaturalMergeSort", "ParallelMergeSort", "IntroSort", "AdaptiveSort", "RadixSort",
+            "SimdSort"
+    };
+
+    // Nombres aceptados por el parámetro "dataset" de los benchmarks.
+    public static final String[] DATASETS = { "citas_100", "citas_100_casi", "pacientes_500", "inventario_500" };
+
+    // citas_100_casi tiene 5 intercambios en 100 filas: 10% de las filas participan (ver ScalableDatasetGenerator).
+    private static final double NEARLY_SORTED_SWAP_PERCENT = 10.0;
+
+    // Semilla fija: el mismo tamaño produce siempre el mismo dataset en todos los forks.
+    private static final long SEED = 42L;
+
+    private final String datasetName;
+    private final String datasetType;
+    private final T[] data;
+    private final KeyExtractor<T, ? extends Comparable<?>> keyExtractor;
+    private final SortingAlgorithm<T> algorithm;
+    private final SortVerifier<T> verifier;
+
+    // Última copia ordenada por sortCopy: verifyLast() la comprueba fuera de la medición.
+    private T[] lastSorted;
+
+    private Workload(String datasetName, String datasetType, T[] data, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                     SortingAlgorithm<T> algorithm) {
+        this.datasetName = datasetName;
+        this.datasetType = datasetType;
+        this.data = data;
+        this.keyExtractor = keyExtractor;
+        this.algorithm = algorithm;
+        this.verifier = SortVerifier.of(data, keyExtractor);
+    }
+
+    /**
+     * Carga un dataset con 'size' elementos (ver rows) y resuelve el algoritmo.
+     *
+     * @param algorithmName Uno de {@link #ALGORITHMS}.
+     * @param datasetName Uno de {@link #DATASETS}.
+     * @param size Número de elementos deseado.
+     * @param datasetsDir Carpeta con los CSV.
+     * @throws IOException Si falla la lectura o la generación del dataset.
+     */
+    public static Workload<?> load(String algorithmName, String datasetName, int size, Path datasetsDir) throws IOException {
+        Object[] rows = rows(datasetName, size, datasetsDir);
+        return switch (datasetName) {
+            case "citas_100", "citas_100_casi" -> new Workload<>(datasetName, "appointments", (Appointment[]) rows,
+                    Appointment::getDateTime,
+                    byName(algorithmName, RadixSort.byLong(Appointment::getEpochMinute),
+                            SimdSort.byInt(a -> Math.toIntExact(a.getEpochMinute()))));
+            case "pacientes_500" -> new Workload<>(datasetName, "patients", (Patient[]) rows,
+                    Patient::getPrioridad,
+                    byName(algorithmName, RadixSort.byInt(Patient::getPrioridad), SimdSort.byInt(Patient::getPrioridad)));
+            default -> new Workload<>(datasetName, "inventory", (InventoryItem[]) rows,
+                    InventoryItem::getStock,
+                    byName(algorithmName, RadixSort.byInt(InventoryItem::getStock), SimdSort.byInt(InventoryItem::getStock)));
+        };
+    }
+
+    /**
+     * Filas de un dataset con 'size' elementos, sin algoritmo: el CSV si tiene ese tamaño o, si no, un dataset
+     * generado con la misma distribución de la clave.
+     *
+     * @param datasetName Uno de {@link #DATASETS}.
+     * @param size Número de elementos deseado.
+     * @param datasetsDir Carpeta con los CSV.
+     * @return Las filas (Appointment[], Patient[] o InventoryItem[]).
+     * @throws IOException Si falla la lectura o la generación del dataset.
+     */
+    public static Object[] rows(String datasetName, int size, Path datasetsDir) throws IOException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Tamaño inválido: " + size);
+        }
+        return switch (datasetName) {
+            case "citas_100" -> sized(datasetsDir.resolve("citas_100.csv"), size, Kind.APPOINTMENTS,
+                    Distribution.RANDOM, CsvDataLoader::loadAppointments);
+            case "citas_100_casi" -> sized(datasetsDir.resolve("citas_100_casi_ordenadas.csv"), size, Kind.APPOINTMENTS,
+                    Distribution.NEARLY_SORTED, CsvDataLoader::loadAppointments);
+            case "pacientes_500" -> sized(datasetsDir.resolve("pacientes_500.csv"), size, Kind.PATIENTS,
+                    Distribution.RANDOM, CsvDataLoader::loadPatients);
+            case "inventario_500" -> sized(datasetsDir.resolve("inventario_500_inverso.csv"), size, Kind.INVENTORY,
+                    Distribution.REVERSED, CsvDataLoader::loadInventory);
+            default -> throw new IllegalArgumentException("Dataset desconocido: " + datasetName);
+        };
+    }
+
+    /**
+     * Resuelve un algoritmo por su nombre. RadixSort y SimdSort necesitan una clave primitiva propia de cada dataset,
+     * por eso se reciben ya construidos.
+     */
+    public static <U> SortingAlgorithm<U> byName(String name, SortingAlgorithm<U> radix, SortingAlgorithm<U> simd) {
+        return switch (name) {
+            case "BubbleSort" -> BubbleSort.algorithm();
+            case "InsertionSort" -> InsertionSort.algorithm();
+            case "SelectionSort" -> SelectionSort.algorithm();
+            case "NaturalMergeSort" -> NaturalMergeSort.algorithm();
+            case "ParallelMergeSort" -> new ParallelMergeSort<>();
+            case "IntroSort" -> IntroSort.algorithm();
+            case "AdaptiveSort" -> new AdaptiveSort<>();
+            case "RadixSort" -> radix;
+            case "SimdSort" -> simd;
+            default -> throw new IllegalArgumentException("Algoritmo desconocido: " + name);
+        };
+    }
+
+    // El CSV si ya tiene 'size' filas; si no, un CSV temporal generado con la distribución indicada.
+    private static <U> U[] sized(Path csv, int size, Kind kind, Distribution distribution, CsvLoader<U> loader)
+            throws IOException {
+        U[] rows = loader.load(csv.toString());
+        if (rows.length == size) {
+            return rows;
+        }
+        Path tmp = Files.createTempFile("workload-", ".csv");
+        try {
+            new ScalableDatasetGenerator(kind, size, distribution, NEARLY_SORTED_SWAP_PERCENT, SEED).write(tmp);
+            return loader.load(tmp.toString());
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CsvLoader<U> {
+        U[] load(String filename) throws IOException;
+    }
+
+    // Ordena una copia del dataset original; la copia ordenada se consume en el Blackhole para evitar eliminación de código muerto.
+    // Usa la variante sin métricas: lo que se mide es solo el algoritmo.
+    public void sortCopy(Blackhole bh) {
+        T[] copy = data.clone();
+        algorithm.sortUncounted(copy, keyExtractor);
+        lastSorted = copy;
+        bh.consume(copy);
+    }
+
+    // Verifica la última salida de sortCopy (orden, permutación y, si el algoritmo es estable, estabilidad).
+    public void verifyLast() {
+        if (lastSorted == null) {
+            return;
+        }
+        SortVerifier.Report report = verifier.check(lastSorted);
+        lastSorted = null;
+        if (!report.valid(algorithm.stable())) {
+            throw new IllegalStateException(datasetName + ": salida inválida: " + report.message());
+        }
+    }
+
+    // Ejecuta una sola ordenación instrumentada fuera de JMH, solo para obtener las métricas.
+    public SortMetrics countOnce() {
+        return algorithm.sort(data.clone(), keyExtractor);
+    }
+
+    // Libera los recursos del algoritmo (el ForkJoinPool de ParallelMergeSort y AdaptiveSort).
+    @Override
+    public void close() throws Exception {
+        if (algorithm instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public String datasetName() { return datasetName; }
+    public String datasetType() { return datasetType; }
+    public int size() { return data.length; }
+    public int threads() { return algorithm.threads(); }
+}
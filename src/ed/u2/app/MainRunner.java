@@ -1,16 +1,31 @@
 package ed.u2.app;
 
+import ed.u2.columnar.InventoryTable;
+import ed.u2.columnar.PatientTable;
+import ed.u2.columnar.Permutation;
 import ed.u2.datasets.CsvDataLoader;
+import ed.u2.datasets.CsvStream;
+import ed.u2.index.AppointmentIndex;
 import ed.u2.models.Appointment;
 import ed.u2.models.InventoryItem;
 import ed.u2.models.Patient;
 import ed.u2.sorting.*;
+import ed.u2.utils.CompositeKey;
 import ed.u2.utils.KeyExtractor;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class MainRunner {
+
+    // Historial de corridas que compara RegressionGate.
+    private static final String HISTORY_FILE = "benchmark_history.csv";
+
     public static void main(String[] args) {
 
         try {
@@ -25,39 +40,148 @@ public class MainRunner {
             KeyExtractor<Patient, Integer> patientKey = p -> p.getPrioridad();
             KeyExtractor<InventoryItem, Integer> inventoryKey = item -> item.getStock();
 
-            // 3) BENCHMARK
+            // 3) BENCHMARK (los resultados se agregan al historial para detectar regresiones con RegressionGate)
+            List<BenchmarkResult> results = new ArrayList<>();
             System.out.println("\n=== Citas 100 ===");
-            runAllAlgorithms(citas100, "citas_100", "appointments", appointmentKey);
+            runAllAlgorithms(citas100, "citas_100", "appointments", appointmentKey, results);
 
             System.out.println("\n=== Citas 100 Casi Ordenadas ===");
-            runAllAlgorithms(citas100Casi, "citas_100_casi", "appointments", appointmentKey);
+            runAllAlgorithms(citas100Casi, "citas_100_casi", "appointments", appointmentKey, results);
 
             System.out.println("\n=== Pacientes 500 ===");
-            runAllAlgorithms(pacientes500, "pacientes_500", "patients", patientKey);
+            runAllAlgorithms(pacientes500, "pacientes_500", "patients", patientKey, results);
 
             System.out.println("\n=== Inventario 500 Inverso ===");
-            runAllAlgorithms(inventario500, "inventario_500", "inventory", inventoryKey);
+            runAllAlgorithms(inventario500, "inventario_500", "inventory", inventoryKey, results);
+
+            // 4) RADIX SORT CON CLAVES PRIMITIVAS (sin boxing)
+            System.out.println("\n=== Radix Sort (claves primitivas) ===");
+            List<BenchmarkResult> radix = List.of(
+                    SortingUtils.runBenchmark("RadixSort", "citas_100", "appointments", citas100, appointmentKey,
+                            RadixSort.byLong(Appointment::getEpochMinute)),
+                    SortingUtils.runBenchmark("RadixSort", "pacientes_500", "patients", pacientes500, patientKey,
+                            RadixSort.byInt(Patient::getPrioridad)),
+                    SortingUtils.runBenchmark("RadixSort", "inventario_500", "inventory", inventario500, inventoryKey,
+                            RadixSort.byInt(InventoryItem::getStock)));
+            radix.forEach(System.out::println);
+            results.addAll(radix);
+
+            // SIMD: misma clave int, con la Vector API si la JVM se inició con --add-modules jdk.incubator.vector.
+            System.out.println("\n=== SimdSort (claves int, vectorizado: " + SimdSort.vectorized() + ") ===");
+            List<BenchmarkResult> simd = List.of(
+                    SortingUtils.runBenchmark("SimdSort", "pacientes_500", "patients", pacientes500, patientKey,
+                            SimdSort.byInt(Patient::getPrioridad)),
+                    SortingUtils.runBenchmark("SimdSort", "inventario_500", "inventory", inventario500, inventoryKey,
+                            SimdSort.byInt(InventoryItem::getStock)));
+            simd.forEach(System.out::println);
+            results.addAll(simd);
+
+            BenchmarkHistory.append(Path.of(HISTORY_FILE), BenchmarkHistory.RunInfo.current(), results);
+            System.out.println("\nResultados agregados a " + HISTORY_FILE);
+
+            // 5) TOP-K: solo los primeros k, sin ordenar todo el arreglo.
+            System.out.println("\n=== Top 5 (ordenación parcial) ===");
+            System.out.println("Pacientes más prioritarios: "
+                    + Arrays.toString(PartialSort.topK(pacientes500, 5, patientKey)));
+            System.out.println("Insumos con menos stock: "
+                    + Arrays.toString(PartialSort.topK(inventario500, 5, inventoryKey)));
+
+            // 6) CLAVE COMPUESTA: prioridad, luego apellido, luego id, en una sola pasada.
+            // Con caché de claves: cada paciente se envuelve en un Key una sola vez, no en cada comparación.
+            System.out.println("\n=== Clave compuesta (prioridad, apellido, id) ===");
+            CompositeKey<Patient> triage = CompositeKey.<Patient>builder()
+                    .thenInt(Patient::getPrioridad).then(Patient::getApellido).then(Patient::getId).build();
+            System.out.println(SortingUtils.runBenchmark("NaturalMergeSort+KeyCache", "pacientes_500", "patients",
+                    pacientes500, triage.extractor(), KeyCachedSort.wrap(NaturalMergeSort.algorithm())));
+
+            // 7) ARGSORT COLUMNAR: se ordena una permutación sobre columnas primitivas, no los objetos.
+            System.out.println("\n=== Argsort columnar ===");
+            InventoryTable inventoryTable = InventoryTable.of(inventario500);
+            int[] byStock = inventoryTable.argsortByStock();
+            System.out.println("Insumos con menos stock: "
+                    + Arrays.toString(inventoryTable.rows(Arrays.copyOf(byStock, 5))));
+            PatientTable patientTable = PatientTable.of(pacientes500);
+            System.out.println("Primeros en triage: "
+                    + Arrays.toString(Permutation.apply(pacientes500, Arrays.copyOf(patientTable.argsortByTriage(), 5))));
+
+            // 8) ÍNDICE INCREMENTAL: las citas nuevas se insertan por lotes sin reordenar todo el arreglo.
+            System.out.println("\n=== Índice de citas (inserción por lotes) ===");
+            int half = citas100.length / 2;
+            AppointmentIndex index = new AppointmentIndex(Arrays.copyOfRange(citas100, 0, half));
+            index.addAll(Arrays.copyOfRange(citas100, half, citas100.length));
+            Appointment[] snapshot = index.toArray();
+            System.out.println("Citas indexadas: " + index.size() + " | primera: " + snapshot[0]
+                    + " | citas ese día: " + index.day(snapshot[0].getDateTime().toLocalDate()).length);
+
+            // 9) LECTURA PEREZOSA: se filtra mientras se lee, sin cargar el archivo completo.
+            System.out.println("\n=== Lectura en streaming ===");
+            try (var urgentes = CsvStream.patients("datasets/pacientes_500.csv",
+                    (offset, line, reason) -> System.err.println("Fila inválida en el byte " + offset + ": " + reason))) {
+                System.out.println("Pacientes con prioridad 1: " + urgentes.filter(p -> p.getPrioridad() == 1).count());
+            }
+
+            // 10) PRESUPUESTO DE TIEMPO: un BubbleSort de 100.000 elementos se corta a los 50 ms en vez de bloquear.
+            System.out.println("\n=== Ordenación con presupuesto de tiempo ===");
+            InventoryItem[] grande = new InventoryItem[100_000];
+            for (int i = 0; i < grande.length; i++) grande[i] = inventario500[i % inventario500.length];
+            BudgetedSort.Outcome outcome = BudgetedSort.sort(grande, inventoryKey, BubbleSort.algorithm(),
+                    Duration.ofMillis(50));
+            System.out.printf("BubbleSort n=%d: %s tras %d ms, %.3f%% de las pasadas, %s%n", grande.length,
+                    outcome.status(), outcome.elapsedNano() / 1_000_000, outcome.progress() * 100, outcome.metrics());
+
+            // 11) CACHÉ DE VISTAS ORDENADAS: pedidos repetidos de la misma vista no vuelven a copiar ni a ordenar.
+            System.out.println("\n=== Caché de vistas ordenadas ===");
+            SortedViewCache cache = new SortedViewCache(10_000);
+            for (int pedido = 0; pedido < 5; pedido++) {
+                cache.view(pacientes500, 1, patientKey);
+            }
+            System.out.println("Primer paciente por prioridad: " + cache.view(pacientes500, 1, patientKey).get(0)
+                    + " | " + cache.stats());
 
         } catch (IOException e) {
-            System.err.println("Error cargando archivos CSV: " + e.getMessage());
+            System.err.println("Error leyendo los CSV o escribiendo el historial: " + e.getMessage());
         }
     }
 
-    // Ejecuta los 3 algoritmos sobre un dataset
+    // Ejecuta los algoritmos sobre un dataset, sin y con caché de claves, y agrega los resultados a 'results'.
     private static <T> void runAllAlgorithms(T[] dataset, String datasetName, String datasetType,
-            KeyExtractor<T, ? extends Comparable<?>> extractor) {
+            KeyExtractor<T, ? extends Comparable<?>> extractor, List<BenchmarkResult> results) {
+
+        BenchmarkResult[] b1 = SortingUtils.runBenchmarkWithKeyCache("BubbleSort", datasetName, datasetType, dataset, extractor,
+                BubbleSort.algorithm(), BubbleSort.algorithm());
 
-        BenchmarkResult b1 = SortingUtils.runBenchmark("BubbleSort", datasetName, datasetType, dataset, extractor,
-                BubbleSort::sort);
+        BenchmarkResult[] b2 = SortingUtils.runBenchmarkWithKeyCache("InsertionSort", datasetName, datasetType, dataset, extractor,
+                InsertionSort.algorithm(), InsertionSort.algorithm());
 
-        BenchmarkResult b2 = SortingUtils.runBenchmark("InsertionSort", datasetName, datasetType, dataset, extractor,
-                InsertionSort::sort);
+        BenchmarkResult[] b3 = SortingUtils.runBenchmarkWithKeyCache("SelectionSort", datasetName, datasetType, dataset, extractor,
+                SelectionSort.algorithm(), SelectionSort.algorithm());
 
-        BenchmarkResult b3 = SortingUtils.runBenchmark("SelectionSort", datasetName, datasetType, dataset, extractor,
-                SelectionSort::sort);
+        BenchmarkResult[] b4 = SortingUtils.runBenchmarkWithKeyCache("NaturalMergeSort", datasetName, datasetType, dataset,
+                extractor, NaturalMergeSort.algorithm(), NaturalMergeSort.algorithm());
+
+        // Los sorters paralelos reutilizan su ForkJoinPool entre corridas y se cierran al terminar.
+        BenchmarkResult[] b5;
+        try (ParallelMergeSort<T> parallel = new ParallelMergeSort<>();
+             ParallelMergeSort<KeyCachedSort.Entry<T>> parallelCached = new ParallelMergeSort<>()) {
+            b5 = SortingUtils.runBenchmarkWithKeyCache("ParallelMergeSort", datasetName, datasetType, dataset,
+                    extractor, parallel, parallelCached);
+        }
 
-        System.out.println(b1);
-        System.out.println(b2);
-        System.out.println(b3);
+        BenchmarkResult[] b6 = SortingUtils.runBenchmarkWithKeyCache("IntroSort", datasetName, datasetType, dataset, extractor,
+                IntroSort.algorithm(), IntroSort.algorithm());
+
+        AdaptiveSort<T> adaptive = new AdaptiveSort<>();
+        BenchmarkResult[] b7;
+        try (adaptive; AdaptiveSort<KeyCachedSort.Entry<T>> adaptiveCached = new AdaptiveSort<>()) {
+            b7 = SortingUtils.runBenchmarkWithKeyCache("AdaptiveSort", datasetName, datasetType, dataset, extractor,
+                    adaptive, adaptiveCached);
+        }
+
+        for (BenchmarkResult[] pair : new BenchmarkResult[][] { b1, b2, b3, b4, b5, b6, b7 }) {
+            System.out.println(pair[0]);
+            System.out.println(pair[1]);
+            results.addAll(Arrays.asList(pair));
+        }
+        System.out.println("AdaptiveSort eligió: " + adaptive.lastDecision());
     }
 }
@@ -0,0 +1,139 @@
+package ed.u2.app;
+
+import ed.u2.sorting.BenchmarkHistory;
+import ed.u2.sorting.BenchmarkHistory.RunInfo;
+import ed.u2.sorting.BenchmarkResult;
+import ed.u2.sorting.RegressionCheck;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara la última corrida del historial de benchmarks con una anterior y termina con código 1 si algún
+ * algoritmo se volvió significativamente más lento que el umbral. Pensado para bloquear un despliegue.
+ *
+ * Uso: java -cp target/classes ed.u2.app.RegressionGate [--history archivo] [--threshold 0.10]
+ *                                                       [--baseline commit] [--current commit] [--require-baseline]
+ *
+ * Por defecto la corrida evaluada es la más reciente y la de referencia es la anterior más reciente medida
+ * con la misma JVM y el mismo host. --baseline y --current eligen la corrida más reciente de un commit (prefijo).
+ * Sin --require-baseline, la falta de una corrida de referencia (o de casos en común) no bloquea; en CI conviene
+ * activarlo para que un cambio de host o un historial vacío no dejen pasar el despliegue sin comparar nada.
+ * Códigos de salida: 0 sin regresiones, 1 con regresiones, 2 argumentos inválidos o un commit pedido con
+ * --baseline / --current que no está en el historial, 3 sin referencia comparable con --require-baseline.
+ */
+public final class RegressionGate {
+
+    static final int OK = 0;
+    static final int REGRESSION = 1;
+    static final int INVALID = 2;
+    static final int NO_BASELINE = 3;
+
+    private RegressionGate() {}
+
+    public static void main(String[] args) {
+        Path history = Path.of("benchmark_history.csv");
+        double threshold = 0.10;
+        String baselineCommit = null;
+        String currentCommit = null;
+        boolean requireBaseline = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--require-baseline")) {
+                    requireBaseline = true;
+                    continue;
+                }
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--history" -> history = Path.of(required(args[i], value));
+                    case "--threshold" -> threshold = Double.parseDouble(required(args[i], value));
+                    case "--baseline" -> baselineCommit = required(args[i], value);
+                    case "--current" -> currentCommit = required(args[i], value);
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+                i++;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(INVALID);
+        }
+
+        try {
+            System.exit(run(history, threshold, baselineCommit, currentCommit, requireBaseline));
+        } catch (IOException e) {
+            System.err.println("Error leyendo el historial: " + e.getMessage());
+            System.exit(INVALID);
+        }
+    }
+
+    // Devuelve el código de salida.
+    static int run(Path history, double threshold, String baselineCommit, String currentCommit,
+                   boolean requireBaseline) throws IOException {
+        Map<RunInfo, List<BenchmarkResult>> runs = BenchmarkHistory.byRun(BenchmarkHistory.read(history));
+        List<RunInfo> order = new ArrayList<>(runs.keySet());
+        int missing = requireBaseline ? NO_BASELINE : OK;
+
+        // Un commit pedido explícitamente que no aparece es un error (p. ej., un prefijo mal escrito), no un "nada que comparar".
+        RunInfo current = latest(order, order.size(), currentCommit, null);
+        if (current == null) {
+            if (currentCommit != null || baselineCommit != null) {
+                System.err.println("No hay corridas del commit " + (currentCommit != null ? currentCommit : baselineCommit)
+                        + " en " + history + ".");
+                return INVALID;
+            }
+            System.out.println("No hay corridas que evaluar en " + history + ".");
+            return missing;
+        }
+        RunInfo baseline = latest(order, order.indexOf(current), baselineCommit, baselineCommit == null ? current : null);
+        if (baseline == null) {
+            if (baselineCommit != null) {
+                System.err.println("No hay corridas del commit " + baselineCommit + " anteriores a " + current + ".");
+                return INVALID;
+            }
+            System.out.println("No hay una corrida de referencia comparable con " + current + ".");
+            return missing;
+        }
+
+        List<RegressionCheck.Comparison> comparisons = RegressionCheck.compare(runs.get(baseline), runs.get(current), threshold);
+        System.out.println("Referencia: " + baseline);
+        System.out.println("Evaluada:   " + current);
+        System.out.printf("Umbral: %.1f%% (mediana), significancia: t de Welch al 95%%%n", threshold * 100);
+        comparisons.forEach(System.out::println);
+
+        if (comparisons.isEmpty()) {
+            System.out.println("Las corridas no tienen casos en común.");
+            return missing;
+        }
+
+        List<RegressionCheck.Comparison> regressions = RegressionCheck.regressions(comparisons);
+        if (regressions.isEmpty()) {
+            System.out.println("Sin regresiones (" + comparisons.size() + " casos comparados).");
+            return OK;
+        }
+        System.out.println(regressions.size() + " regresiones de " + comparisons.size() + " casos comparados.");
+        return REGRESSION;
+    }
+
+    // La corrida más reciente antes de 'before' cuyo commit empieza con 'commit' (si se indicó) y, si se indicó
+    // 'sameAs', con su misma JVM y host.
+    private static RunInfo latest(List<RunInfo> order, int before, String commit, RunInfo sameAs) {
+        for (int i = before - 1; i >= 0; i--) {
+            RunInfo run = order.get(i);
+            if (commit != null && !run.commit().startsWith(commit)) continue;
+            if (sameAs != null && !run.sameEnvironment(sameAs)) continue;
+            return run;
+        }
+        return null;
+    }
+
+    private static String required(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Falta el valor de " + option);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,368 @@
+package ed.u2.app;
+
+import ed.u2.index.AppointmentIndex;
+import ed.u2.models.Appointment;
+import ed.u2.models.Patient;
+import ed.u2.sorting.NaturalMergeSort;
+import ed.u2.sorting.ParallelMergeSort;
+import ed.u2.sorting.PartialSort;
+import ed.u2.sorting.SortVerifier;
+import ed.u2.utils.KeyExtractor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Verificación aleatoria de los algoritmos (el proyecto no tiene tests de JUnit): genera entradas con formas
+ * variadas a partir de una semilla y comprueba cada resultado contra una referencia.
+ * - Ordenación: con SortVerifier, que la salida esté ordenada, sea una permutación de la entrada y sea estable.
+ *   Las claves se repiten a propósito (pacientes con prioridades iguales) para que la estabilidad importe.
+ * - PartialSort: topK y partialSort contra el prefijo de una ordenación estable de referencia; nthElement por la
+ *   clave en la posición pedida, la partición a su alrededor y que la salida sea una permutación.
+ * - AppointmentIndex: lotes aleatorios de altas y bajas comparados contra una lista de referencia ordenada de forma
+ *   estable, más un caso fijo que fuerza una partición de bloque y luego una unión.
+ *
+ * Uso: java -cp target/classes ed.u2.app.SelfCheck [--seed 42] [--rounds 200]
+ * Cada falla se imprime con la forma, el tamaño y la semilla de su entrada; la forma también sale de la semilla,
+ * así que --seed <semilla> --rounds 1 reproduce exactamente esa entrada.
+ * Códigos de salida: 0 si todo pasa, 1 si alguna verificación falla, 2 argumentos inválidos.
+ */
+public final class SelfCheck {
+
+    static final int OK = 0;
+    static final int FAILED = 1;
+    static final int INVALID = 2;
+
+    // Tamaño máximo de las entradas aleatorias (suficiente para varios tramos y mezclas de NaturalMergeSort).
+    private static final int MAX_SIZE = 3_000;
+
+    // Corte chico para ParallelMergeSort: con entradas de hasta MAX_SIZE elementos se crean varias tareas y mezclas.
+    private static final int PARALLEL_CUTOFF = 64;
+
+    // Operaciones (lotes de altas o bajas) por ronda del índice de citas.
+    private static final int INDEX_OPERATIONS = 12;
+
+    // Minutos distintos posibles en el índice: pocos, para que haya muchas citas con la misma fecha/hora.
+    private static final int INDEX_MINUTES = 300;
+
+    private static final long FIRST_MINUTE = LocalDateTime.of(2025, 3, 1, 8, 0).toEpochSecond(ZoneOffset.UTC) / 60;
+
+    private static final KeyExtractor<Patient, Integer> PRIORITY = Patient::getPrioridad;
+
+    // Formas de entrada: cada una ejercita un camino distinto de los algoritmos.
+    private enum Shape { RANDOM, FEW_UNIQUE, NEARLY_SORTED, REVERSED, RUNS }
+
+    private final long seed;
+    private final int rounds;
+    private final List<String> failures = new ArrayList<>();
+    private int checks;
+
+    private SelfCheck(long seed, int rounds) {
+        this.seed = seed;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) {
+        long seed = 42;
+        int rounds = 200;
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                if (value == null) throw new IllegalArgumentException("Falta el valor de " + args[i]);
+                switch (args[i]) {
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--rounds" -> rounds = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (rounds < 1) throw new IllegalArgumentException("--rounds debe ser al menos 1.");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(INVALID);
+        }
+
+        System.exit(new SelfCheck(seed, rounds).run());
+    }
+
+    // Ejecuta todas las verificaciones y devuelve el código de salida.
+    private int run() {
+        checkSort("NaturalMergeSort", a -> NaturalMergeSort.sort(a, PRIORITY));
+        checkSort("NaturalMergeSort (sin métricas)", a -> NaturalMergeSort.sortUncounted(a, PRIORITY));
+        try (ParallelMergeSort<Patient> parallel = new ParallelMergeSort<>(4, PARALLEL_CUTOFF)) {
+            checkSort("ParallelMergeSort", a -> parallel.sort(a, PRIORITY));
+            checkSort("ParallelMergeSort (sin métricas)", a -> parallel.sortUncounted(a, PRIORITY));
+        }
+        checkPartialSort();
+        checkIndexBatches();
+        checkIndexSplitAndMerge();
+
+        failures.forEach(System.out::println);
+        System.out.println((checks - failures.size()) + "/" + checks + " verificaciones correctas (semilla " + seed + ").");
+        return failures.isEmpty() ? OK : FAILED;
+    }
+
+    // Ordena 'rounds' entradas aleatorias con 'sorter' y exige una salida ordenada, permutación y estable.
+    private void checkSort(String name, Consumer<Patient[]> sorter) {
+        for (int r = 0; r < rounds; r++) {
+            long inputSeed = seed + r;
+            Shape shape = shape(inputSeed);
+            Patient[] input = patients(shape, inputSeed);
+
+            Patient[] sorted = input.clone();
+            SortVerifier.Report report;
+            try {
+                sorter.accept(sorted);
+                report = SortVerifier.of(input, PRIORITY).check(sorted);
+            } catch (RuntimeException e) {
+                fail(name, describe(shape, input.length, inputSeed), e.toString());
+                continue;
+            }
+            expect(report.valid(true), name, describe(shape, input.length, inputSeed), report.message());
+        }
+    }
+
+    // topK, partialSort y nthElement con un k aleatorio (incluidos 0 y k > N) contra la ordenación estable de referencia.
+    private void checkPartialSort() {
+        for (int r = 0; r < rounds; r++) {
+            long inputSeed = seed + r;
+            Shape shape = shape(inputSeed);
+            Patient[] input = patients(shape, inputSeed);
+            int n = input.length;
+            String description = describe(shape, n, inputSeed);
+
+            SplittableRandom random = new SplittableRandom(~inputSeed);
+            int k = random.nextInt(n + 3);
+            int top = Math.min(k, n);
+            Patient[] reference = input.clone();
+            Arrays.sort(reference, Comparator.comparingInt(Patient::getPrioridad)); // Arrays.sort de objetos es estable.
+
+            try {
+                // topK: exactamente el prefijo estable de largo min(k, N), sin tocar la entrada.
+                Patient[] before = input.clone();
+                Patient[] topK = PartialSort.topK(input, k, PRIORITY);
+                expect(topK.length == top && samePrefix(topK, reference, top) && samePrefix(input, before, n),
+                        "PartialSort.topK", description + " | k=" + k, "no coincide con el prefijo estable");
+
+                // partialSort: el mismo prefijo y, detrás, el resto en su orden original.
+                Patient[] partial = input.clone();
+                PartialSort.partialSort(partial, k, PRIORITY);
+                Set<Patient> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+                selected.addAll(Arrays.asList(reference).subList(0, top));
+                Patient[] rest = Arrays.stream(input).filter(p -> !selected.contains(p)).toArray(Patient[]::new);
+                expect(samePrefix(partial, reference, top)
+                                && samePrefix(Arrays.copyOfRange(partial, top, n), rest, rest.length),
+                        "PartialSort.partialSort", description + " | k=" + k,
+                        "el prefijo o el resto no coinciden con la referencia");
+
+                // nthElement: la clave de la posición pedida, <= a la izquierda, >= a la derecha y los mismos objetos.
+                if (n > 0) {
+                    int nth = random.nextInt(n);
+                    Patient[] selection = input.clone();
+                    PartialSort.nthElement(selection, nth, PRIORITY);
+                    int key = reference[nth].getPrioridad();
+                    boolean partitioned = selection[nth].getPrioridad() == key;
+                    for (int i = 0; i < n && partitioned; i++) {
+                        int c = Integer.compare(selection[i].getPrioridad(), key);
+                        partitioned = i < nth ? c <= 0 : c >= 0;
+                    }
+                    Set<Patient> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+                    seen.addAll(Arrays.asList(selection));
+                    boolean permutation = seen.size() == n && seen.containsAll(Arrays.asList(input));
+                    expect(partitioned && permutation, "PartialSort.nthElement", description + " | n=" + nth,
+                            partitioned ? "la salida no es una permutación de la entrada"
+                                        : "la posición pedida o la partición no coinciden con la referencia");
+                }
+            } catch (RuntimeException e) {
+                fail("PartialSort", description + " | k=" + k, e.toString());
+            }
+        }
+    }
+
+    // Los primeros 'length' elementos de 'actual' son los mismos objetos que los de 'expected' (por identidad).
+    private static <T> boolean samePrefix(T[] actual, T[] expected, int length) {
+        if (actual.length < length || expected.length < length) return false;
+        for (int i = 0; i < length; i++) {
+            if (actual[i] != expected[i]) return false;
+        }
+        return true;
+    }
+
+    // Aplica lotes aleatorios de altas y bajas y, tras cada uno, compara el índice con la referencia.
+    private void checkIndexBatches() {
+        for (int r = 0; r < rounds; r++) {
+            long inputSeed = seed + r;
+            SplittableRandom random = new SplittableRandom(inputSeed);
+            AppointmentIndex index = new AppointmentIndex();
+            List<Appointment> arrivals = new ArrayList<>(); // Citas presentes, en orden de llegada.
+            int nextId = 0;
+
+            for (int op = 0; op < INDEX_OPERATIONS; op++) {
+                String input = "lote " + op + " | semilla=" + inputSeed;
+                try {
+                    if (arrivals.isEmpty() || random.nextInt(3) > 0) {
+                        Appointment[] batch = new Appointment[1 + random.nextInt(2 * AppointmentIndex.MAX_CHUNK)];
+                        for (int i = 0; i < batch.length; i++) {
+                            batch[i] = new Appointment("C-" + nextId++, "Paciente",
+                                    FIRST_MINUTE + random.nextInt(INDEX_MINUTES));
+                        }
+                        index.addAll(batch);
+                        arrivals.addAll(List.of(batch));
+                    } else {
+                        // Baja de una fracción aleatoria de las citas presentes, más un id que no existe.
+                        double fraction = random.nextDouble();
+                        Set<String> ids = new HashSet<>();
+                        for (Appointment ap : arrivals) {
+                            if (random.nextDouble() < fraction) ids.add(ap.id());
+                        }
+                        int removed = index.removeAll(ids);
+                        arrivals.removeIf(ap -> ids.contains(ap.id()));
+                        expect(removed == ids.size() && !index.remove("C-inexistente"), "AppointmentIndex.removeAll",
+                                input, "borró " + removed + " de " + ids.size());
+                    }
+                    checkIndex(index, arrivals, random, input);
+                } catch (RuntimeException e) {
+                    fail("AppointmentIndex", input, e.toString());
+                    break;
+                }
+            }
+        }
+    }
+
+    // Caso fijo: MAX_CHUNK + 1 altas crecientes parten el bloque; bajar el primero por debajo de MIN_CHUNK los une.
+    private void checkIndexSplitAndMerge() {
+        AppointmentIndex index = new AppointmentIndex();
+        List<Appointment> arrivals = new ArrayList<>();
+        for (int i = 0; i <= AppointmentIndex.MAX_CHUNK; i++) {
+            Appointment ap = new Appointment("C-" + i, "Paciente", FIRST_MINUTE + i);
+            index.add(ap);
+            arrivals.add(ap);
+        }
+        int half = AppointmentIndex.MAX_CHUNK / 2;
+        int[] split = index.chunkSizes();
+        expect(Arrays.equals(split, new int[] { half, half + 1 }), "AppointmentIndex (partición)", "caso fijo",
+                "bloques " + Arrays.toString(split));
+
+        // El primer bloque queda con MIN_CHUNK - 1 citas: cabe junto al segundo y se unen.
+        int toRemove = half - AppointmentIndex.MIN_CHUNK + 1;
+        for (int i = 0; i < toRemove; i++) {
+            index.remove("C-" + i);
+        }
+        arrivals.subList(0, toRemove).clear();
+        int[] merged = index.chunkSizes();
+        expect(Arrays.equals(merged, new int[] { arrivals.size() }), "AppointmentIndex (unión)", "caso fijo",
+                "bloques " + Arrays.toString(merged));
+        checkIndex(index, arrivals, new SplittableRandom(seed), "caso fijo");
+    }
+
+    // Contenido, tamaño, bloques y un rango aleatorio del índice contra la referencia ordenada de forma estable.
+    private void checkIndex(AppointmentIndex index, List<Appointment> arrivals, SplittableRandom random, String input) {
+        List<Appointment> expected = new ArrayList<>(arrivals);
+        expected.sort(Comparator.comparingLong(Appointment::getEpochMinute)); // List.sort es estable.
+
+        Appointment[] actual = index.toArray();
+        expect(index.size() == expected.size() && sameElements(actual, expected), "AppointmentIndex.toArray", input,
+                "el contenido no coincide con la referencia (N=" + expected.size() + ", índice=" + index.size() + ")");
+
+        int[] sizes = index.chunkSizes();
+        boolean chunksOk = Arrays.stream(sizes).sum() == index.size()
+                && Arrays.stream(sizes).allMatch(s -> s >= 1 && s <= AppointmentIndex.MAX_CHUNK);
+        expect(chunksOk, "AppointmentIndex (bloques)", input, "bloques " + Arrays.toString(sizes));
+
+        long from = FIRST_MINUTE + random.nextInt(INDEX_MINUTES);
+        long to = from + random.nextInt(INDEX_MINUTES / 4);
+        List<Appointment> expectedRange = expected.stream()
+                .filter(ap -> ap.getEpochMinute() >= from && ap.getEpochMinute() < to).toList();
+        Appointment[] range = index.range(minute(from), minute(to));
+        expect(sameElements(range, expectedRange), "AppointmentIndex.range", input,
+                "el rango [" + minute(from) + ", " + minute(to) + ") no coincide con la referencia (" + range.length
+                        + " citas, se esperaban " + expectedRange.size() + ")");
+    }
+
+    // Mismos objetos en el mismo orden (por identidad).
+    private static boolean sameElements(Appointment[] actual, List<Appointment> expected) {
+        if (actual.length != expected.size()) return false;
+        for (int i = 0; i < actual.length; i++) {
+            if (actual[i] != expected.get(i)) return false;
+        }
+        return true;
+    }
+
+    private static LocalDateTime minute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static Shape shape(long inputSeed) {
+        return Shape.values()[(int) Math.floorMod(inputSeed, (long) Shape.values().length)];
+    }
+
+    // Pacientes con ids únicos y prioridades repetidas, con la forma pedida. La misma semilla da la misma entrada.
+    private static Patient[] patients(Shape shape, long inputSeed) {
+        SplittableRandom random = new SplittableRandom(inputSeed);
+        int n = random.nextInt(MAX_SIZE + 1);
+        int[] keys = new int[n];
+
+        switch (shape) {
+            case RANDOM -> {
+                for (int i = 0; i < n; i++) keys[i] = random.nextInt(n + 1);
+            }
+            case FEW_UNIQUE -> {
+                for (int i = 0; i < n; i++) keys[i] = random.nextInt(4);
+            }
+            case NEARLY_SORTED -> {
+                for (int i = 0; i < n; i++) keys[i] = i / 2;
+                for (int s = 0; s < n / 20; s++) {
+                    int i = random.nextInt(n);
+                    int j = random.nextInt(n);
+                    int tmp = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = tmp;
+                }
+            }
+            case REVERSED -> {
+                for (int i = 0; i < n; i++) keys[i] = (n - i) / 2;
+            }
+            case RUNS -> {
+                // Tramos crecientes de largo aleatorio, cada uno desde un valor inicial aleatorio.
+                for (int i = 0; i < n; ) {
+                    int start = random.nextInt(n + 1);
+                    int length = 1 + random.nextInt(64);
+                    for (int j = 0; j < length && i < n; j++) keys[i++] = start + j;
+                }
+            }
+        }
+
+        Patient[] out = new Patient[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = new Patient("P-" + i, "Paciente", keys[i]);
+        }
+        return out;
+    }
+
+    private static String describe(Shape shape, int n, long inputSeed) {
+        return shape + " | N=" + n + " | semilla=" + inputSeed;
+    }
+
+    private void expect(boolean ok, String name, String input, String detail) {
+        if (ok) {
+            checks++;
+        } else {
+            fail(name, input, detail);
+        }
+    }
+
+    private void fail(String name, String input, String detail) {
+        checks++;
+        failures.add("FALLA " + name + " | " + input + " | " + detail);
+    }
+}
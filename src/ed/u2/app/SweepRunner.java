@@ -0,0 +1,191 @@
+package ed.u2.app;
+
+import ed.u2.datasets.MappedCsvLoader;
+import ed.u2.datasets.ScalableDatasetGenerator;
+import ed.u2.datasets.ScalableDatasetGenerator.Distribution;
+import ed.u2.datasets.ScalableDatasetGenerator.Kind;
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+import ed.u2.sorting.*;
+import ed.u2.utils.KeyExtractor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Barrido de escalabilidad (ver ScalingSweep): para cada distribución genera datasets de N = min .. max en progresión
+ * geométrica con ScalableDatasetGenerator, mide todos los algoritmos, ajusta c·N^b y reporta los cruces.
+ * Sirve para decidir, p. ej., a partir de qué N deja de convenir InsertionSort.
+ *
+ * Uso: java -cp target/classes ed.u2.app.SweepRunner [--kind inventory|patients|appointments]
+ *          [--dist RANDOM,NEARLY_SORTED,...] [--min 100] [--max 10000000] [--factor 3.1623] [--cap-ms 1000]
+ *          [--algorithms InsertionSort,IntroSort,...] [--out sweep_results.csv]
+ *
+ * Para N grandes conviene aumentar el heap (p. ej., -Xmx4g): 10^7 objetos ocupan varios cientos de MB.
+ */
+public final class SweepRunner {
+
+    private static final String[] DEFAULT_ALGORITHMS = {
+            "BubbleSort", "InsertionSort", "SelectionSort", "NaturalMergeSort", "ParallelMergeSort", "IntroSort",
+            "AdaptiveSort", "RadixSort", "SimdSort"
+    };
+
+    private SweepRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        Kind kind = Kind.INVENTORY;
+        List<Distribution> distributions = List.of(Distribution.RANDOM, Distribution.NEARLY_SORTED,
+                Distribution.REVERSED, Distribution.FEW_UNIQUE);
+        int min = 100;
+        int max = 10_000_000;
+        double factor = Math.sqrt(10);
+        long capMillis = 1000;
+        List<String> algorithms = List.of(DEFAULT_ALGORITHMS);
+        Path out = Path.of("sweep_results.csv");
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--kind" -> kind = Kind.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--dist" -> distributions = Arrays.stream(value.toUpperCase(Locale.ROOT).split(","))
+                        .map(Distribution::valueOf).toList();
+                case "--min" -> min = Integer.parseInt(value);
+                case "--max" -> max = Integer.parseInt(value);
+                case "--factor" -> factor = Double.parseDouble(value);
+                case "--cap-ms" -> capMillis = Long.parseLong(value);
+                case "--algorithms" -> algorithms = List.of(value.split(","));
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        int[] sizes = ScalingSweep.geometricSizes(min, max, factor);
+        long capNanos = capMillis * 1_000_000;
+        List<BenchmarkResult> all = new ArrayList<>();
+
+        for (Distribution distribution : distributions) {
+            System.out.println("\n=== " + kind + " / " + distribution + " ===");
+            List<ScalingSweep.Series> series = switch (kind) {
+                case PATIENTS -> sweep(kind, distribution, MappedCsvLoader::loadPatients, Patient::getPrioridad,
+                        algorithms(algorithms, RadixSort.byInt(Patient::getPrioridad), SimdSort.byInt(Patient::getPrioridad)),
+                        sizes, capNanos, all);
+                case INVENTORY -> sweep(kind, distribution, MappedCsvLoader::loadInventory, InventoryItem::getStock,
+                        algorithms(algorithms, RadixSort.byInt(InventoryItem::getStock), SimdSort.byInt(InventoryItem::getStock)),
+                        sizes, capNanos, all);
+                case APPOINTMENTS -> sweep(kind, distribution, MappedCsvLoader::loadAppointments, Appointment::getDateTime,
+                        algorithms(algorithms, RadixSort.byLong(Appointment::getEpochMinute),
+                                SimdSort.byInt(a -> Math.toIntExact(a.getEpochMinute()))),
+                        sizes, capNanos, all);
+            };
+            report(series);
+        }
+
+        BenchmarkExport.writeCsv(out, all);
+        System.out.println("\nResultados exportados: " + out);
+    }
+
+    // Carga un CSV generado en un archivo temporal.
+    @FunctionalInterface
+    private interface Loader<T> {
+        T[] load(String filename) throws IOException;
+    }
+
+    private static <T> List<ScalingSweep.Series> sweep(Kind kind, Distribution distribution, Loader<T> loader,
+                                                       KeyExtractor<T, ? extends Comparable<?>> key,
+                                                       Map<String, SortingAlgorithm<T>> algorithms, int[] sizes,
+                                                       long capNanos, List<BenchmarkResult> all) {
+        IntFunction<T[]> dataset = n -> {
+            try {
+                Path tmp = Files.createTempFile("sweep-", ".csv");
+                try {
+                    new ScalableDatasetGenerator(kind, n, distribution, 5.0, 42L).write(tmp);
+                    return loader.load(tmp.toString());
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        String datasetName = kind.name().toLowerCase(Locale.ROOT) + "_sweep";
+        String datasetType = distribution.name().toLowerCase(Locale.ROOT);
+        try {
+            return ScalingSweep.run(datasetName, datasetType, dataset, key, algorithms, sizes, capNanos, r -> {
+                System.out.println(r);
+                all.add(r);
+            });
+        } finally {
+            // ParallelMergeSort y AdaptiveSort mantienen un ForkJoinPool entre corridas.
+            for (SortingAlgorithm<T> algorithm : algorithms.values()) {
+                if (algorithm instanceof AutoCloseable closeable) {
+                    try {
+                        closeable.close();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static <T> Map<String, SortingAlgorithm<T>> algorithms(List<String> names, SortingAlgorithm<T> radix,
+                                                                    SortingAlgorithm<T> simd) {
+        Map<String, SortingAlgorithm<T>> map = new LinkedHashMap<>();
+        for (String name : names) {
+            map.put(name, switch (name) {
+                case "BubbleSort" -> BubbleSort.algorithm();
+                case "InsertionSort" -> InsertionSort.algorithm();
+                case "SelectionSort" -> SelectionSort.algorithm();
+                case "NaturalMergeSort" -> NaturalMergeSort.algorithm();
+                case "ParallelMergeSort" -> new ParallelMergeSort<>();
+                case "IntroSort" -> IntroSort.algorithm();
+                case "AdaptiveSort" -> new AdaptiveSort<>();
+                case "RadixSort" -> radix;
+                case "SimdSort" -> simd;
+                default -> throw new IllegalArgumentException("Algoritmo desconocido: " + name);
+            });
+        }
+        return map;
+    }
+
+    // Tabla de ajustes y lista de cruces de una distribución.
+    private static void report(List<ScalingSweep.Series> series) {
+        System.out.println("\nAjustes c·N^b (b y R² en escala log-log):");
+        System.out.printf("%-18s %10s %22s %12s %18s %18s%n", "Algoritmo", "N máx", "tiempo b (R²)", "tiempo c ns",
+                "compar. b / c", "movim. b / c");
+        for (ScalingSweep.Series s : series) {
+            System.out.printf(Locale.ROOT, "%-18s %10d %14s (%5s) %12s %18s %18s%s%n", s.algorithm(), s.maxSize(),
+                    number(s.time().exponent()), number(s.time().r2()), number(s.time().constant()),
+                    number(s.comparisons().exponent()) + " / " + number(s.comparisons().constant()),
+                    number(s.moves().exponent()) + " / " + number(s.moves().constant()),
+                    s.capped() ? "  [tope de tiempo]" : "");
+        }
+
+        System.out.println("\nCruces (por debajo de N conviene el primero):");
+        List<ScalingSweep.Crossover> crossovers = ScalingSweep.crossovers(series);
+        if (crossovers.isEmpty()) System.out.println("  ninguno en el rango medido");
+        for (ScalingSweep.Crossover c : crossovers) {
+            System.out.printf(Locale.ROOT, "  %-18s -> %-18s N ≈ %.0f%s%n", c.below(), c.above(), c.size(),
+                    c.extrapolated() ? " (extrapolado)" : "");
+        }
+
+        // Primer N donde otro algoritmo supera a InsertionSort: el umbral para dejar de usarlo.
+        crossovers.stream().filter(c -> c.below().equals("InsertionSort")).findFirst().ifPresent(c ->
+                System.out.printf(Locale.ROOT, "InsertionSort deja de convenir desde N ≈ %.0f (lo supera %s)%n",
+                        c.size(), c.above()));
+    }
+
+    private static String number(double v) {
+        return Double.isNaN(v) ? "n/a" : String.format(Locale.ROOT, "%.2f", v);
+    }
+}
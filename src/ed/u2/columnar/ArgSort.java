@@ -0,0 +1,138 @@
+package ed.u2.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Argsort sobre columnas primitivas: en lugar de mover objetos, calcula la permutación int[] que los ordenaría.
+ * Usa Radix Sort LSD estable sobre pares (clave, índice) guardados en arreglos primitivos contiguos, así que
+ * recorre memoria de forma secuencial y nunca sigue punteros a los objetos.
+ * Para varias columnas se ordena de la menos a la más significativa, aprovechando la estabilidad.
+ * Las pasadas cuyo dígito es igual en todas las filas se omiten (p. ej., códigos de diccionario pequeños).
+ */
+public final class ArgSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+
+    private ArgSort() {}
+
+    /**
+     * Permutación estable que ordena las filas por varias columnas int (p. ej., prioridad y códigos de diccionario).
+     *
+     * @param columns Columnas de igual largo, de la más significativa a la menos significativa.
+     * @return perm tal que perm[i] es la fila que va en la posición i.
+     */
+    public static int[] sort(int[]... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos una columna.");
+        }
+        int[] perm = identity(columns[0].length);
+        for (int c = columns.length - 1; c >= 0; c--) {
+            perm = refine(perm, columns[c]);
+        }
+        return perm;
+    }
+
+    /**
+     * Permutación estable que ordena las filas por una columna long (p. ej., minutos época de las citas).
+     *
+     * @param column Clave de cada fila.
+     * @return perm tal que perm[i] es la fila que va en la posición i.
+     */
+    public static int[] sort(long[] column) {
+        return refine(identity(column.length), column);
+    }
+
+    /**
+     * Reordena de forma estable una permutación existente por otra columna int: las filas con la misma
+     * clave conservan el orden que tenían en 'perm'.
+     *
+     * @param perm Permutación de partida (no se modifica).
+     * @param column Clave de cada fila (indexada por fila, no por posición).
+     * @return Una permutación nueva.
+     */
+    public static int[] refine(int[] perm, int[] column) {
+        int n = perm.length;
+        // Clave normalizada (bit de signo invertido) en los 32 bits altos, fila en los 32 bajos.
+        long[] pairs = new long[n];
+        for (int i = 0; i < n; i++) {
+            pairs[i] = ((long) (column[perm[i]] ^ Integer.MIN_VALUE) << 32) | perm[i];
+        }
+        pairs = radix(pairs, 32, 64);
+
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = (int) pairs[i];
+        }
+        return out;
+    }
+
+    // Igual que refine(int[], int[]) para una columna long.
+    public static int[] refine(int[] perm, long[] column) {
+        int n = perm.length;
+        long[] keys = new long[n];
+        int[] rows = perm.clone();
+        for (int i = 0; i < n; i++) {
+            keys[i] = column[perm[i]] ^ Long.MIN_VALUE;
+        }
+
+        long[] dstKeys = new long[n];
+        int[] dstRows = new int[n];
+        int[] count = new int[BUCKETS];
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if (!histogram(keys, shift, count)) continue;
+            for (int i = 0; i < n; i++) {
+                int pos = count[(int) (keys[i] >>> shift) & MASK]++;
+                dstKeys[pos] = keys[i];
+                dstRows[pos] = rows[i];
+            }
+            long[] tk = keys; keys = dstKeys; dstKeys = tk;
+            int[] tr = rows; rows = dstRows; dstRows = tr;
+        }
+        return rows;
+    }
+
+    public static int[] identity(int n) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        return perm;
+    }
+
+    // Permutación inversa: inverse[perm[i]] = i (la posición que ocupa cada fila).
+    public static int[] inverse(int[] perm) {
+        int[] inv = new int[perm.length];
+        for (int i = 0; i < perm.length; i++) inv[perm[i]] = i;
+        return inv;
+    }
+
+    // LSD sobre los bits [fromBit, toBit) de cada long; devuelve el arreglo que quedó ordenado.
+    private static long[] radix(long[] src, int fromBit, int toBit) {
+        long[] dst = new long[src.length];
+        int[] count = new int[BUCKETS];
+        for (int shift = fromBit; shift < toBit; shift += RADIX_BITS) {
+            if (!histogram(src, shift, count)) continue;
+            for (long v : src) {
+                dst[count[(int) (v >>> shift) & MASK]++] = v;
+            }
+            long[] t = src; src = dst; dst = t;
+        }
+        return src;
+    }
+
+    // Cuenta el dígito y deja en 'count' la posición inicial de cada cubeta; false si la pasada no cambia nada.
+    private static boolean histogram(long[] keys, int shift, int[] count) {
+        if (keys.length < 2) return false;
+        Arrays.fill(count, 0);
+        for (long k : keys) count[(int) (k >>> shift) & MASK]++;
+        if (count[(int) (keys[0] >>> shift) & MASK] == keys.length) return false;
+
+        int sum = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            int c = count[b];
+            count[b] = sum;
+            sum += c;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package ed.u2.columnar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columna de texto codificada con diccionario: cada fila guarda un código int y el texto se guarda una sola vez.
+ * El diccionario está ordenado, así que comparar códigos equivale a comparar los textos (String.compareTo):
+ * ordenar por la columna es ordenar ints, sin leer ningún String.
+ */
+public final class DictionaryColumn {
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    private DictionaryColumn(String[] dictionary, int[] codes) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    /**
+     * Codifica una columna de texto.
+     *
+     * @param values Valores de cada fila (no nulos).
+     * @return La columna con su diccionario ordenado.
+     */
+    public static DictionaryColumn encode(String[] values) {
+        String[] dictionary = Arrays.stream(values).distinct().sorted().toArray(String[]::new);
+
+        Map<String, Integer> codeOf = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            codeOf.put(dictionary[i], i);
+        }
+
+        int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            codes[i] = codeOf.get(values[i]);
+        }
+        return new DictionaryColumn(dictionary, codes);
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    // Texto de la fila 'row'.
+    public String get(int row) {
+        return dictionary[codes[row]];
+    }
+
+    // Código de la fila 'row' (su posición en el diccionario ordenado).
+    public int code(int row) {
+        return codes[row];
+    }
+
+    // Columna de códigos, lista para ArgSort. No se debe modificar.
+    public int[] codes() {
+        return codes;
+    }
+
+    public int distinctValues() {
+        return dictionary.length;
+    }
+}
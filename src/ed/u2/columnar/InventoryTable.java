@@ -0,0 +1,60 @@
+package ed.u2.columnar;
+
+import ed.u2.models.InventoryItem;
+
+/**
+ * Inventario en formato de columnas (struct-of-arrays): stock en un int[] y textos codificados con diccionario.
+ * Ver PatientTable.
+ */
+public final class InventoryTable {
+
+    private final DictionaryColumn ids;
+    private final DictionaryColumn insumos;
+    private final int[] stock;
+
+    private InventoryTable(DictionaryColumn ids, DictionaryColumn insumos, int[] stock) {
+        this.ids = ids;
+        this.insumos = insumos;
+        this.stock = stock;
+    }
+
+    public static InventoryTable of(InventoryItem[] items) {
+        int n = items.length;
+        String[] ids = new String[n];
+        String[] insumos = new String[n];
+        int[] stock = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = items[i].getId();
+            insumos[i] = items[i].getInsumo();
+            stock[i] = items[i].getStock();
+        }
+        return new InventoryTable(DictionaryColumn.encode(ids), DictionaryColumn.encode(insumos), stock);
+    }
+
+    public int size() {
+        return stock.length;
+    }
+
+    // Columnas para ArgSort. No se deben modificar.
+    public int[] stock() { return stock; }
+    public DictionaryColumn ids() { return ids; }
+    public DictionaryColumn insumos() { return insumos; }
+
+    // Orden por stock ascendente (estable).
+    public int[] argsortByStock() {
+        return ArgSort.sort(stock);
+    }
+
+    public InventoryItem row(int i) {
+        return new InventoryItem(ids.get(i), insumos.get(i), stock[i]);
+    }
+
+    // Materializa las filas en el orden de 'perm' (o un subconjunto, p. ej., los primeros k).
+    public InventoryItem[] rows(int[] perm) {
+        InventoryItem[] out = new InventoryItem[perm.length];
+        for (int i = 0; i < perm.length; i++) {
+            out[i] = row(perm[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,61 @@
+package ed.u2.columnar;
+
+import ed.u2.models.Patient;
+
+/**
+ * Pacientes en formato de columnas (struct-of-arrays): prioridad en un int[] y textos codificados con diccionario.
+ * Ordenar con ArgSort sobre estas columnas solo recorre arreglos primitivos; varias ordenaciones (permutaciones)
+ * comparten la misma copia de los datos y los objetos Patient se materializan solo al final, si hacen falta.
+ */
+public final class PatientTable {
+
+    private final DictionaryColumn ids;
+    private final DictionaryColumn apellidos;
+    private final int[] prioridad;
+
+    private PatientTable(DictionaryColumn ids, DictionaryColumn apellidos, int[] prioridad) {
+        this.ids = ids;
+        this.apellidos = apellidos;
+        this.prioridad = prioridad;
+    }
+
+    public static PatientTable of(Patient[] patients) {
+        int n = patients.length;
+        String[] ids = new String[n];
+        String[] apellidos = new String[n];
+        int[] prioridad = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = patients[i].getId();
+            apellidos[i] = patients[i].getApellido();
+            prioridad[i] = patients[i].getPrioridad();
+        }
+        return new PatientTable(DictionaryColumn.encode(ids), DictionaryColumn.encode(apellidos), prioridad);
+    }
+
+    public int size() {
+        return prioridad.length;
+    }
+
+    // Columnas para ArgSort. No se deben modificar.
+    public int[] prioridad() { return prioridad; }
+    public DictionaryColumn ids() { return ids; }
+    public DictionaryColumn apellidos() { return apellidos; }
+
+    // Orden de triage: prioridad, luego apellido, luego id.
+    public int[] argsortByTriage() {
+        return ArgSort.sort(prioridad, apellidos.codes(), ids.codes());
+    }
+
+    public Patient row(int i) {
+        return new Patient(ids.get(i), apellidos.get(i), prioridad[i]);
+    }
+
+    // Materializa las filas en el orden de 'perm' (o un subconjunto, p. ej., los primeros k).
+    public Patient[] rows(int[] perm) {
+        Patient[] out = new Patient[perm.length];
+        for (int i = 0; i < perm.length; i++) {
+            out[i] = row(perm[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,63 @@
+package ed.u2.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Aplica una permutación de ArgSort a arreglos de objetos o columnas primitivas.
+ * apply() hace un "gather" (out[i] = src[perm[i]]): escribe en orden secuencial y solo las lecturas saltan,
+ * que es el patrón más amable con la caché y el prefetcher. Cada columna se permuta por separado, así que
+ * se recorren arreglos compactos en lugar de objetos dispersos en el heap.
+ * applyInPlace() sigue los ciclos de la permutación cuando no se puede pagar una copia.
+ */
+public final class Permutation {
+
+    private Permutation() {}
+
+    public static <T> T[] apply(T[] src, int[] perm) {
+        T[] out = Arrays.copyOf(src, perm.length);
+        for (int i = 0; i < perm.length; i++) out[i] = src[perm[i]];
+        return out;
+    }
+
+    public static int[] apply(int[] src, int[] perm) {
+        int[] out = new int[perm.length];
+        for (int i = 0; i < perm.length; i++) out[i] = src[perm[i]];
+        return out;
+    }
+
+    public static long[] apply(long[] src, int[] perm) {
+        long[] out = new long[perm.length];
+        for (int i = 0; i < perm.length; i++) out[i] = src[perm[i]];
+        return out;
+    }
+
+    /**
+     * Reordena 'a' in-place según 'perm' (a[i] pasa a ser el antiguo a[perm[i]]) siguiendo sus ciclos:
+     * O(n) tiempo y solo un bitset de memoria extra.
+     *
+     * @param a El arreglo a reordenar.
+     * @param perm Permutación de 0..a.length-1.
+     */
+    public static <T> void applyInPlace(T[] a, int[] perm) {
+        if (perm.length != a.length) {
+            throw new IllegalArgumentException("La permutación no coincide con el arreglo.");
+        }
+        long[] done = new long[(a.length + 63) >>> 6];
+        for (int start = 0; start < a.length; start++) {
+            if ((done[start >>> 6] & (1L << start)) != 0) continue;
+
+            T first = a[start];
+            int i = start;
+            while (true) {
+                done[i >>> 6] |= 1L << i;
+                int from = perm[i];
+                if (from == start) {
+                    a[i] = first;
+                    break;
+                }
+                a[i] = a[from];
+                i = from;
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ed.u2.datasets;
+
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formato binario compacto para los tres datasets (extensión sugerida: .bin).
+ * Evita volver a parsear texto en cada benchmark: las fechas se guardan ya convertidas a minutos desde la época (UTC)
+ * y los apellidos / insumos, que se repiten mucho, se guardan una sola vez en un diccionario.
+ *
+ * Estructura (big-endian, cadenas UTF-8 con prefijo de longitud short sin signo):
+ *   int magic "EDU2" | short versión | byte tipo | byte layout | int n
+ *   int tamañoDiccionario | cadenas del diccionario
+ *   layout FILAS:    n × (id, int índiceDiccionario, clave)
+ *   layout COLUMNAS: n × id | n × int índiceDiccionario | n × clave
+ * La clave es long (minuto época) para citas e int (prioridad / stock) para pacientes e inventario.
+ */
+public final class BinaryDatasetIO {
+
+    private static final int MAGIC = 0x45445532; // "EDU2"
+    private static final short VERSION = 1;
+
+    private static final byte TYPE_APPOINTMENTS = 1;
+    private static final byte TYPE_PATIENTS = 2;
+    private static final byte TYPE_INVENTORY = 3;
+
+    private static final byte LAYOUT_ROWS = 0;
+    private static final byte LAYOUT_COLUMNAR = 1;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+    // Tamaño de cada ventana mapeada al leer (igual que los bloques de MappedCsvLoader).
+    private static final long WINDOW_BYTES = 32L * 1024 * 1024;
+
+    private BinaryDatasetIO() {}
+
+    // Contenido de un dataset en forma de columnas, común a los tres modelos.
+    private record Columns(String[] ids, String[] dictionary, int[] names, long[] keys) {}
+
+    /**
+     * Escribe citas en formato binario.
+     *
+     * @param out Archivo de salida.
+     * @param data Citas a escribir.
+     * @param columnar true para el layout por columnas, false para el layout por filas.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void writeAppointments(Path out, Appointment[] data, boolean columnar) throws IOException {
+        String[] ids = new String[data.length];
+        String[] names = new String[data.length];
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            ids[i] = data[i].id();
+            names[i] = data[i].lastName();
+            keys[i] = data[i].getEpochMinute();
+        }
+        write(out, TYPE_APPOINTMENTS, columnar, ids, names, keys);
+    }
+
+    // Escribe pacientes en formato binario (ver writeAppointments).
+    public static void writePatients(Path out, Patient[] data, boolean columnar) throws IOException {
+        String[] ids = new String[data.length];
+        String[] names = new String[data.length];
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            ids[i] = data[i].getId();
+            names[i] = data[i].getApellido();
+            keys[i] = data[i].getPrioridad();
+        }
+        write(out, TYPE_PATIENTS, columnar, ids, names, keys);
+    }
+
+    // Escribe inventario en formato binario (ver writeAppointments).
+    public static void writeInventory(Path out, InventoryItem[] data, boolean columnar) throws IOException {
+        String[] ids = new String[data.length];
+        String[] names = new String[data.length];
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            ids[i] = data[i].getId();
+            names[i] = data[i].getInsumo();
+            keys[i] = data[i].getStock();
+        }
+        write(out, TYPE_INVENTORY, columnar, ids, names, keys);
+    }
+
+    /**
+     * Lee citas desde un archivo binario.
+     *
+     * @param in Archivo binario generado por writeAppointments.
+     * @return Un array de citas listo para ordenar, en el orden original.
+     * @throws IOException Si el archivo no existe o no tiene el formato esperado.
+     */
+    public static Appointment[] readAppointments(Path in) throws IOException {
+        Columns c = read(in, TYPE_APPOINTMENTS);
+        Appointment[] out = new Appointment[c.ids().length];
+        // El minuto guardado pasa tal cual a la cita: no se vuelve a formatear ni a parsear texto.
+        for (int i = 0; i < out.length; i++) {
+            out[i] = new Appointment(c.ids()[i], c.dictionary()[c.names()[i]], c.keys()[i]);
+        }
+        return out;
+    }
+
+    // Lee pacientes desde un archivo binario (ver readAppointments).
+    public static Patient[] readPatients(Path in) throws IOException {
+        Columns c = read(in, TYPE_PATIENTS);
+        Patient[] out = new Patient[c.ids().length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = new Patient(c.ids()[i], c.dictionary()[c.names()[i]], (int) c.keys()[i]);
+        }
+        return out;
+    }
+
+    // Lee inventario desde un archivo binario (ver readAppointments).
+    public static InventoryItem[] readInventory(Path in) throws IOException {
+        Columns c = read(in, TYPE_INVENTORY);
+        InventoryItem[] out = new InventoryItem[c.ids().length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = new InventoryItem(c.ids()[i], c.dictionary()[c.names()[i]], (int) c.keys()[i]);
+        }
+        return out;
+    }
+
+    // Codifica el diccionario y escribe el archivo con el layout pedido.
+    private static void write(Path out, byte type, boolean columnar, String[] ids, String[] names, long[] keys)
+            throws IOException {
+        // Diccionario en orden de primera aparición.
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] codes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            codes[i] = dictionary.computeIfAbsent(names[i], k -> dictionary.size());
+        }
+        boolean longKeys = type == TYPE_APPOINTMENTS;
+
+        try (DataOutputStream w = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out), BUFFER_BYTES))) {
+            w.writeInt(MAGIC);
+            w.writeShort(VERSION);
+            w.writeByte(type);
+            w.writeByte(columnar ? LAYOUT_COLUMNAR : LAYOUT_ROWS);
+            w.writeInt(ids.length);
+
+            w.writeInt(dictionary.size());
+            for (String s : dictionary.keySet()) writeString(w, s);
+
+            if (columnar) {
+                for (String id : ids) writeString(w, id);
+                for (int code : codes) w.writeInt(code);
+                for (long key : keys) writeKey(w, key, longKeys);
+            } else {
+                for (int i = 0; i < ids.length; i++) {
+                    writeString(w, ids[i]);
+                    w.writeInt(codes[i]);
+                    writeKey(w, keys[i], longKeys);
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream w, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) throw new IOException("Cadena demasiado larga para el formato binario: " + bytes.length);
+        w.writeShort(bytes.length);
+        w.write(bytes);
+    }
+
+    private static void writeKey(DataOutputStream w, long key, boolean longKeys) throws IOException {
+        if (longKeys) w.writeLong(key);
+        else w.writeInt((int) key);
+    }
+
+    // Mapea el archivo con FileChannel por ventanas y decodifica las columnas en arrays preasignados.
+    private static Columns read(Path in, byte expectedType) throws IOException {
+        return read(in, expectedType, WINDOW_BYTES);
+    }
+
+    private static Columns read(Path in, byte expectedType, long windowBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(in, StandardOpenOption.READ)) {
+            WindowReader buf = new WindowReader(channel, windowBytes);
+
+            if (buf.getInt() != MAGIC) throw new IOException("No es un dataset binario: " + in);
+            short version = buf.getShort();
+            if (version != VERSION) throw new IOException("Versión de formato no soportada: " + version);
+            byte type = buf.get();
+            if (type != expectedType) throw new IOException("Tipo de dataset inesperado: " + type);
+            boolean columnar = buf.get() == LAYOUT_COLUMNAR;
+            boolean longKeys = type == TYPE_APPOINTMENTS;
+            int n = buf.getInt();
+
+            String[] dictionary = new String[buf.getInt()];
+            for (int i = 0; i < dictionary.length; i++) dictionary[i] = buf.getString();
+
+            String[] ids = new String[n];
+            int[] names = new int[n];
+            long[] keys = new long[n];
+
+            if (columnar) {
+                for (int i = 0; i < n; i++) ids[i] = buf.getString();
+                for (int i = 0; i < n; i++) names[i] = buf.getInt();
+                for (int i = 0; i < n; i++) keys[i] = longKeys ? buf.getLong() : buf.getInt();
+            } else {
+                for (int i = 0; i < n; i++) {
+                    ids[i] = buf.getString();
+                    names[i] = buf.getInt();
+                    keys[i] = longKeys ? buf.getLong() : buf.getInt();
+                }
+            }
+            return new Columns(ids, dictionary, names, keys);
+        }
+    }
+
+    /**
+     * Lector secuencial sobre ventanas mapeadas del archivo.
+     * Un único MappedByteBuffer no puede superar 2 GiB, así que se mapea una ventana a la vez y se vuelve a mapear
+     * desde la posición actual cuando no quedan bytes suficientes para el siguiente valor.
+     * La ventana debe ser mayor que el valor más grande (una cadena: 2 + 65535 bytes).
+     */
+    private static final class WindowReader {
+        private final FileChannel channel;
+        private final long size;
+        private final long windowBytes;
+        private MappedByteBuffer window;
+        private long windowStart; // Posición en el archivo del primer byte de la ventana.
+
+        WindowReader(FileChannel channel, long windowBytes) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.windowBytes = windowBytes;
+            this.window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(windowBytes, size));
+        }
+
+        // Garantiza que la ventana tenga al menos 'needed' bytes desde la posición actual.
+        private MappedByteBuffer require(int needed) throws IOException {
+            if (window.remaining() >= needed) return window;
+            long pos = windowStart + window.position();
+            if (size - pos < needed) throw new IOException("Dataset binario truncado en la posición " + pos);
+            windowStart = pos;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(windowBytes, size - pos));
+            return window;
+        }
+
+        byte get() throws IOException {
+            return require(Byte.BYTES).get();
+        }
+
+        short getShort() throws IOException {
+            return require(Short.BYTES).getShort();
+        }
+
+        int getInt() throws IOException {
+            return require(Integer.BYTES).getInt();
+        }
+
+        long getLong() throws IOException {
+            return require(Long.BYTES).getLong();
+        }
+
+        String getString() throws IOException {
+            byte[] bytes = new byte[getShort() & 0xFFFF];
+            require(bytes.length).get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
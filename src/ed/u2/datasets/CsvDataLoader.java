@@ -8,6 +8,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 // Clase de utilidad para cargar datos de archivos CSV en arrays de objetos de modelo.
@@ -116,4 +117,61 @@ public class CsvDataLoader {
         }
         return items.toArray(new InventoryItem[0]);
     }
+
+    // Recibe cada lote leído por readBatches.
+    @FunctionalInterface
+    public interface BatchConsumer<T> {
+        void accept(T[] batch) throws IOException;
+    }
+
+    /**
+     * Lee el archivo en lotes de como máximo 'batchSize' filas y entrega cada lote a 'consumer'.
+     * Solo un lote vive en memoria a la vez, por lo que sirve para archivos más grandes que el heap.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @param format Formato del modelo (p. ej., CsvFormat.APPOINTMENTS).
+     * @param batchSize Número máximo de filas por lote.
+     * @param consumer Recibe cada lote, en el orden del archivo.
+     * @return El número total de filas leídas.
+     * @throws IOException Si ocurre un error al leer el archivo o lo lanza el consumidor.
+     */
+    public static <T> long readBatches(String filename, CsvFormat<T> format, int batchSize, BatchConsumer<T> consumer)
+            throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser al menos 1.");
+        }
+
+        long total = 0;
+        T[] batch = format.arrayFactory().apply(batchSize);
+        int count = 0;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            br.readLine(); // Saltar el encabezado
+
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                String[] values = line.split("\\s*;\\s*");
+                if (values.length == 3) {
+                    batch[count++] = format.parser().apply(values);
+                    if (count == batchSize) {
+                        consumer.accept(batch);
+                        total += count;
+                        // Nuevo lote: el consumidor puede conservar el anterior.
+                        batch = format.arrayFactory().apply(batchSize);
+                        count = 0;
+                    }
+                }
+            }
+        }
+
+        // Último lote parcial.
+        if (count > 0) {
+            consumer.accept(Arrays.copyOf(batch, count));
+            total += count;
+        }
+        return total;
+    }
 }
@@ -0,0 +1,40 @@
+package ed.u2.datasets;
+
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Descripción del formato CSV de un modelo: encabezado, cómo leer una fila ya dividida en campos
+ * y cómo escribir un objeto como fila. Permite que los procesos genéricos (p. ej., el ordenamiento externo)
+ * lean y escriban cualquiera de los tres datasets.
+ *
+ * @param header Encabezado del archivo (primera línea).
+ * @param parser Convierte los 3 campos de una fila en un objeto del modelo.
+ * @param formatter Convierte un objeto del modelo en una fila CSV (sin salto de línea).
+ * @param arrayFactory Crea arrays del tipo del modelo.
+ */
+public record CsvFormat<T>(String header, Function<String[], T> parser, Function<T, String> formatter,
+                           IntFunction<T[]> arrayFactory) {
+
+    // Formato de citas: id;apellido;fechaHora
+    public static final CsvFormat<Appointment> APPOINTMENTS = new CsvFormat<>("id;apellido;fechaHora",
+            v -> new Appointment(v[0], v[1], v[2]),
+            a -> a.id() + ";" + a.lastName() + ";" + a.dateTimeStr(),
+            Appointment[]::new);
+
+    // Formato de pacientes: id;apellido;prioridad
+    public static final CsvFormat<Patient> PATIENTS = new CsvFormat<>("id;apellido;prioridad",
+            v -> new Patient(v[0], v[1], Integer.parseInt(v[2])),
+            p -> p.getId() + ";" + p.getApellido() + ";" + p.getPrioridad(),
+            Patient[]::new);
+
+    // Formato de inventario: id;insumo;stock
+    public static final CsvFormat<InventoryItem> INVENTORY = new CsvFormat<>("id;insumo;stock",
+            v -> new InventoryItem(v[0], v[1], Integer.parseInt(v[2])),
+            it -> it.getId() + ";" + it.getInsumo() + ";" + it.getStock(),
+            InventoryItem[]::new);
+}
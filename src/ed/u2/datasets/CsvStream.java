@@ -0,0 +1,337 @@
+package ed.u2.datasets;
+
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lectura perezosa de un CSV como Stream: las filas se parsean a medida que se consumen, así que se puede
+ * filtrar, tomar los k primeros o alimentar un ordenamiento externo sin construir el array completo.
+ * Cada Spliterator lee el archivo por posición con un buffer fijo y reutiliza la línea y el arreglo de campos,
+ * de modo que la memoria usada no depende del tamaño del archivo.
+ * trySplit() divide el rango de bytes restante en un fin de línea, igual que MappedCsvLoader, para que
+ * los streams paralelos repartan el archivo sin leerlo antes.
+ *
+ * Las filas inválidas (cantidad de campos distinta de 3, último campo vacío o error del parser) no se
+ * descartan en silencio: se informan a un BadRowHandler y la lectura continúa con la siguiente.
+ * El Stream mantiene el archivo abierto: se debe cerrar (try-with-resources).
+ */
+public final class CsvStream {
+
+    // Buffer de lectura de cada Spliterator.
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    // Por debajo de este rango no vale la pena dividir.
+    private static final long MIN_SPLIT_BYTES = 256 * 1024;
+
+    // Número de campos por fila en los tres formatos.
+    private static final int FIELDS = 3;
+
+    private static final byte SEPARATOR = ';';
+    private static final byte NEWLINE = '\n';
+
+    private CsvStream() {}
+
+    /**
+     * Recibe cada fila inválida. Con streams paralelos se puede llamar desde varios hilos a la vez.
+     */
+    @FunctionalInterface
+    public interface BadRowHandler {
+        /**
+         * @param offset Posición en bytes del inicio de la fila dentro del archivo.
+         * @param line El texto de la fila (sin salto de línea).
+         * @param reason Por qué se rechazó.
+         */
+        void onBadRow(long offset, String line, String reason);
+
+        // Ignora las filas inválidas (el comportamiento de CsvDataLoader).
+        BadRowHandler IGNORE = (offset, line, reason) -> {};
+
+        // Interrumpe la lectura en la primera fila inválida.
+        BadRowHandler FAIL = (offset, line, reason) -> {
+            throw new IllegalArgumentException("Fila inválida en el byte " + offset + " (" + reason + "): " + line);
+        };
+    }
+
+    /**
+     * Citas con formato id;apellido;fechaHora, en el orden del archivo.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @param onBadRow Recibe las filas inválidas.
+     * @return Un Stream perezoso que se debe cerrar.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public static Stream<Appointment> appointments(String filename, BadRowHandler onBadRow) throws IOException {
+        return stream(filename, CsvFormat.APPOINTMENTS, onBadRow);
+    }
+
+    /**
+     * Pacientes con formato id;apellido;prioridad, en el orden del archivo.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @param onBadRow Recibe las filas inválidas.
+     * @return Un Stream perezoso que se debe cerrar.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public static Stream<Patient> patients(String filename, BadRowHandler onBadRow) throws IOException {
+        return stream(filename, CsvFormat.PATIENTS, onBadRow);
+    }
+
+    /**
+     * Inventario con formato id;insumo;stock, en el orden del archivo.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @param onBadRow Recibe las filas inválidas.
+     * @return Un Stream perezoso que se debe cerrar.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public static Stream<InventoryItem> inventory(String filename, BadRowHandler onBadRow) throws IOException {
+        return stream(filename, CsvFormat.INVENTORY, onBadRow);
+    }
+
+    /**
+     * Stream perezoso de cualquier formato. Para recorrerlo con un Iterator basta con stream.iterator().
+     * Los errores de lectura posteriores a la apertura se lanzan como UncheckedIOException.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @param format Formato del modelo (p. ej., CsvFormat.PATIENTS).
+     * @param onBadRow Recibe las filas inválidas.
+     * @return Un Stream secuencial (se puede pasar a parallel()) que cierra el archivo en close().
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public static <T> Stream<T> stream(String filename, CsvFormat<T> format, BadRowHandler onBadRow) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            RowSpliterator<T> rows = new RowSpliterator<>(channel, format, onBadRow, 0, size, true,
+                    averageRowBytes(channel, size));
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Bytes promedio por fila según el primer bloque del archivo; base de estimateSize().
+    private static double averageRowBytes(FileChannel channel, long size) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(BUFFER_BYTES, size));
+        while (sample.hasRemaining() && channel.read(sample, sample.position()) > 0) {
+            // Leer hasta llenar la muestra o llegar al fin del archivo.
+        }
+        int lines = 0;
+        for (int i = 0; i < sample.position(); i++) {
+            if (sample.get(i) == NEWLINE) lines++;
+        }
+        return lines == 0 ? Math.max(1, sample.position()) : (double) sample.position() / lines;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Recorre las filas que empiezan en [pos, end). 'pos' siempre está al inicio de una línea;
+     * la última fila puede terminar después de 'end'.
+     */
+    private static final class RowSpliterator<T> implements Spliterator<T> {
+        private final FileChannel channel;
+        private final CsvFormat<T> format;
+        private final BadRowHandler onBadRow;
+        private final double avgRowBytes;
+        private final long end;
+        private long pos;
+        private boolean skipHeader;
+
+        // Ventana del archivo que hay en 'buf', desde la posición 'bufStart'. Se crea al leer la primera fila.
+        private ByteBuffer buf;
+        private long bufStart;
+
+        // Buffers reutilizados entre filas.
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private final String[] fields = new String[FIELDS];
+
+        RowSpliterator(FileChannel channel, CsvFormat<T> format, BadRowHandler onBadRow,
+                       long pos, long end, boolean skipHeader, double avgRowBytes) {
+            this.channel = channel;
+            this.format = format;
+            this.onBadRow = onBadRow;
+            this.pos = pos;
+            this.end = end;
+            this.skipHeader = skipHeader;
+            this.avgRowBytes = avgRowBytes;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (pos < end) {
+                long rowStart = pos;
+                readLine();
+                if (skipHeader) {
+                    skipHeader = false;
+                    continue;
+                }
+
+                String reason = split();
+                if (reason == null) {
+                    T value;
+                    try {
+                        value = format.parser().apply(fields);
+                    } catch (RuntimeException e) {
+                        onBadRow.onBadRow(rowStart, lineText(), String.valueOf(e.getMessage()));
+                        continue;
+                    }
+                    action.accept(value);
+                    return true;
+                }
+                if (!reason.isEmpty()) {
+                    onBadRow.onBadRow(rowStart, lineText(), reason);
+                }
+            }
+            return false;
+        }
+
+        // Divide el rango restante a la mitad, ajustada al siguiente fin de línea. Devuelve la primera mitad.
+        @Override
+        public Spliterator<T> trySplit() {
+            if (end - pos < MIN_SPLIT_BYTES) return null;
+            long mid;
+            try {
+                mid = nextLineStart(pos + (end - pos) / 2);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (mid >= end) return null;
+
+            RowSpliterator<T> prefix = new RowSpliterator<>(channel, format, onBadRow, pos, mid, skipHeader, avgRowBytes);
+            pos = mid;
+            skipHeader = false;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (long) Math.ceil((end - pos) / avgRowBytes);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+
+        // Copia la línea que empieza en 'pos' a 'line' (sin el '\n') y avanza 'pos' hasta la siguiente.
+        private void readLine() {
+            lineLength = 0;
+            while (true) {
+                if (!buffered(pos)) {
+                    fill(pos);
+                    if (buf.limit() == 0) return; // Fin del archivo sin '\n' final.
+                }
+                int from = (int) (pos - bufStart);
+                int limit = buf.limit();
+                int i = from;
+                while (i < limit && buf.get(i) != NEWLINE) i++;
+
+                int len = i - from;
+                if (line.length < lineLength + len) {
+                    line = Arrays.copyOf(line, Math.max(lineLength + len, line.length * 2));
+                }
+                buf.get(from, line, lineLength, len);
+                lineLength += len;
+                pos += len;
+                if (i < limit) {
+                    pos++; // Consumir el '\n'.
+                    return;
+                }
+            }
+        }
+
+        // Posición siguiente al primer '\n' a partir de 'from' (o el tamaño del archivo).
+        private long nextLineStart(long from) throws IOException {
+            ByteBuffer window = ByteBuffer.allocate(4096);
+            long p = from;
+            while (true) {
+                window.clear();
+                int n = channel.read(window, p);
+                if (n <= 0) return channel.size();
+                for (int i = 0; i < n; i++) {
+                    if (window.get(i) == NEWLINE) return p + i + 1;
+                }
+                p += n;
+            }
+        }
+
+        private boolean buffered(long p) {
+            return buf != null && p >= bufStart && p < bufStart + buf.limit();
+        }
+
+        private void fill(long p) {
+            if (buf == null) buf = ByteBuffer.allocate(BUFFER_BYTES);
+            buf.clear();
+            try {
+                while (buf.hasRemaining()) {
+                    int n = channel.read(buf, p + buf.position());
+                    if (n <= 0) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buf.flip();
+            bufStart = p;
+        }
+
+        /**
+         * Llena 'fields' con los campos de la línea actual, sin espacios alrededor.
+         *
+         * @return null si la fila es válida, "" si es una línea en blanco, o el motivo del rechazo.
+         */
+        private String split() {
+            int field = 0;
+            int fieldStart = 0;
+            boolean blank = true;
+
+            for (int i = 0; i <= lineLength; i++) {
+                if (i == lineLength || line[i] == SEPARATOR) {
+                    if (field == FIELDS) return "más de " + FIELDS + " campos";
+                    int from = fieldStart;
+                    int to = i;
+                    while (from < to && isSpace(line[from])) from++;
+                    while (to > from && isSpace(line[to - 1])) to--;
+                    fields[field++] = new String(line, from, to - from, StandardCharsets.UTF_8);
+                    fieldStart = i + 1;
+                } else if (!isSpace(line[i])) {
+                    blank = false;
+                }
+            }
+            if (blank && field == 1) return "";
+            if (field < FIELDS) return "se esperaban " + FIELDS + " campos, hay " + field;
+            if (fields[FIELDS - 1].isEmpty()) return "el último campo está vacío";
+            return null;
+        }
+
+        private String lineText() {
+            int len = lineLength;
+            if (len > 0 && line[len - 1] == '\r') len--;
+            return new String(line, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ed.u2.datasets;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Convierte los CSV existentes al formato binario de BinaryDatasetIO.
+ * Uso: CsvToBinaryConverter [columnar]  -> convierte los 4 datasets de "datasets/" a archivos .bin al lado de cada CSV.
+ *      CsvToBinaryConverter &lt;tipo&gt; &lt;entrada.csv&gt; &lt;salida.bin&gt; [columnar]  con tipo = appointments | patients | inventory
+ */
+public final class CsvToBinaryConverter {
+
+    private static final Path DATASETS_DIR = Path.of("datasets");
+
+    private CsvToBinaryConverter() {}
+
+    /**
+     * Convierte un CSV al formato binario.
+     *
+     * @param type Tipo de dataset: appointments, patients o inventory.
+     * @param csv Archivo CSV de entrada.
+     * @param bin Archivo binario de salida.
+     * @param columnar true para el layout por columnas.
+     * @throws IOException Si falla la lectura o la escritura.
+     */
+    public static void convert(String type, Path csv, Path bin, boolean columnar) throws IOException {
+        switch (type) {
+            case "appointments" -> BinaryDatasetIO.writeAppointments(bin, CsvDataLoader.loadAppointments(csv.toString()), columnar);
+            case "patients" -> BinaryDatasetIO.writePatients(bin, CsvDataLoader.loadPatients(csv.toString()), columnar);
+            case "inventory" -> BinaryDatasetIO.writeInventory(bin, CsvDataLoader.loadInventory(csv.toString()), columnar);
+            default -> throw new IllegalArgumentException("Tipo de dataset desconocido: " + type);
+        }
+    }
+
+    // Convierte los 4 datasets del taller (mismo nombre, extensión .bin).
+    public static void convertAll(boolean columnar) throws IOException {
+        convertOne("appointments", "citas_100", columnar);
+        convertOne("appointments", "citas_100_casi_ordenadas", columnar);
+        convertOne("patients", "pacientes_500", columnar);
+        convertOne("inventory", "inventario_500_inverso", columnar);
+    }
+
+    private static void convertOne(String type, String name, boolean columnar) throws IOException {
+        Path bin = DATASETS_DIR.resolve(name + ".bin");
+        convert(type, DATASETS_DIR.resolve(name + ".csv"), bin, columnar);
+        System.out.println("Dataset convertido: " + bin);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3) {
+            convert(args[0], Path.of(args[1]), Path.of(args[2]), args.length > 3 && args[3].equals("columnar"));
+        } else {
+            convertAll(args.length == 1 && args[0].equals("columnar"));
+        }
+    }
+}
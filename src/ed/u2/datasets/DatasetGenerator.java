@@ -126,7 +126,7 @@ public final class DatasetGenerator {
         }
 
         // PASO 1: Ordenar la lista.
-        list.sort(Comparator.comparing(a -> LocalDateTime.parse(a.dateTimeStr(), DATE_FORMATTER)));
+        list.sort(Comparator.comparingLong(Appointment::getEpochMinute));
 
         // PASO 2: Introducir desorden (casi ordenado). Se hacen 5 intercambios (swaps). 5% del tamaño de la lista.
         int swapsNeeded = 5;
@@ -226,6 +226,47 @@ public final class DatasetGenerator {
         writeInventoryCsv(out, list);
     }
 
+    /**
+     * Genera los 4 datasets en CSV y, además, su versión binaria (.bin, ver BinaryDatasetIO) al lado de cada CSV.
+     * @param columnar true para usar el layout por columnas en los archivos binarios.
+     * @throws IOException Si falla la escritura de algún archivo.
+     */
+    public static void generateAllDatasetsWithBinary(boolean columnar) throws IOException {
+        generateAllDatasets();
+        CsvToBinaryConverter.convertAll(columnar);
+    }
+
+    /**
+     * Genera un dataset de N filas con la distribución indicada (ver ScalableDatasetGenerator).
+     * A diferencia de los generadores fijos de arriba, trabaja en paralelo y no usa el Random compartido.
+     *
+     * @param out Archivo CSV de salida.
+     * @param kind Tipo de dataset (citas, pacientes o inventario).
+     * @param n Número de filas.
+     * @param distribution Distribución de la clave de ordenación.
+     * @param swapPercent Porcentaje de intercambios para NEARLY_SORTED.
+     * @param seed Semilla: la misma semilla produce el mismo archivo.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void generate(Path out, ScalableDatasetGenerator.Kind kind, long n,
+                                ScalableDatasetGenerator.Distribution distribution, double swapPercent, long seed)
+            throws IOException {
+        new ScalableDatasetGenerator(kind, n, distribution, swapPercent, seed).write(out);
+    }
+
+    /**
+     * Igual que generate(out, kind, n, distribution, swapPercent, seed), con un tope de memoria directa para los buffers.
+     *
+     * @param maxBufferBytes Tope de memoria directa entre todos los hilos generadores.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void generate(Path out, ScalableDatasetGenerator.Kind kind, long n,
+                                ScalableDatasetGenerator.Distribution distribution, double swapPercent, long seed,
+                                long maxBufferBytes) throws IOException {
+        new ScalableDatasetGenerator(kind, n, distribution, swapPercent, seed, Runtime.getRuntime().availableProcessors(),
+                ScalableDatasetGenerator.DEFAULT_ROWS_PER_CHUNK, maxBufferBytes).write(out);
+    }
+
     //Escribe la lista de citas en el archivo CSV, incluyendo el encabezado.
     private static void writeAppointmentsCsv(Path out, List<Appointment> list) throws IOException {
         // try-with-resources para que el writter se cierre.
@@ -267,7 +308,22 @@ public final class DatasetGenerator {
     }
 
     // Quick runner para generar los datasets (de forma rapida)
+    // Con el argumento "--binary" también escribe los .bin (y "--binary columnar" para el layout por columnas).
+    // Con "--scale <kind> <n> <distribution> <salida.csv> [swapPercent] [seed] [bufferMb]" genera un dataset escalable
+    // (bufferMb: tope de memoria directa de los buffers, 256 MB por defecto).
     public static void main(String[] args) throws IOException {
+        if (args.length >= 5 && args[0].equals("--scale")) {
+            generate(Path.of(args[4]), ScalableDatasetGenerator.Kind.valueOf(args[1].toUpperCase()), Long.parseLong(args[2]),
+                    ScalableDatasetGenerator.Distribution.valueOf(args[3].toUpperCase()),
+                    args.length > 5 ? Double.parseDouble(args[5]) : 5.0, args.length > 6 ? Long.parseLong(args[6]) : 42L,
+                    args.length > 7 ? Long.parseLong(args[7]) << 20 : ScalableDatasetGenerator.DEFAULT_MAX_BUFFER_BYTES);
+            System.out.println("Dataset generado: " + args[4]);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--binary")) {
+            generateAllDatasetsWithBinary(args.length > 1 && args[1].equals("columnar"));
+            return;
+        }
         generateAllDatasets();
     }
 }
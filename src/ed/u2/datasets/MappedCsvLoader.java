@@ -0,0 +1,253 @@
+package ed.u2.datasets;
+
+import ed.u2.models.Appointment;
+import ed.u2.models.InventoryItem;
+import ed.u2.models.Patient;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Cargador de CSV para archivos grandes: mapea el archivo en memoria, lo divide en bloques que terminan
+ * en fin de línea y parsea los bloques en paralelo, sin expresiones regulares ni ArrayList intermedios.
+ * Hace dos pasadas: la primera cuenta las filas válidas de cada bloque (para preasignar el array final)
+ * y la segunda parsea cada bloque directamente en su rango del array.
+ * Acepta el mismo formato que CsvDataLoader: encabezado + filas "campo;campo;campo" (espacios alrededor de ';' permitidos).
+ */
+public final class MappedCsvLoader {
+
+    // Tamaño nominal de cada bloque. Se ajusta hacia adelante hasta el siguiente salto de línea.
+    private static final long DEFAULT_CHUNK_BYTES = 32L * 1024 * 1024;
+
+    // Número de campos por fila en los tres formatos.
+    private static final int FIELDS = 3;
+
+    private static final byte SEPARATOR = ';';
+    private static final byte NEWLINE = '\n';
+
+    private MappedCsvLoader() {}
+
+    /**
+     * Carga citas con formato id;apellido;fechaHora.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @return Un array de objetos Appointment, en el mismo orden del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static Appointment[] loadAppointments(String filename) throws IOException {
+        return load(filename, DEFAULT_CHUNK_BYTES, Appointment[]::new,
+                row -> new Appointment(row.string(0), row.string(1), row.string(2)));
+    }
+
+    /**
+     * Carga pacientes con formato id;apellido;prioridad.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @return Un array de objetos Patient, en el mismo orden del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static Patient[] loadPatients(String filename) throws IOException {
+        return load(filename, DEFAULT_CHUNK_BYTES, Patient[]::new,
+                row -> new Patient(row.string(0), row.string(1), row.integer(2)));
+    }
+
+    /**
+     * Carga inventario con formato id;insumo;stock.
+     *
+     * @param filename La ruta del archivo CSV.
+     * @return Un array de objetos InventoryItem, en el mismo orden del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static InventoryItem[] loadInventory(String filename) throws IOException {
+        return load(filename, DEFAULT_CHUNK_BYTES, InventoryItem[]::new,
+                row -> new InventoryItem(row.string(0), row.string(1), row.integer(2)));
+    }
+
+    // Construye un objeto de modelo a partir de la fila actual.
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    // Carga genérica: mapeo, división en bloques, conteo paralelo y parseo paralelo.
+    static <T> T[] load(String filename, long chunkBytes, IntFunction<T[]> arrayFactory, RowMapper<T> mapper) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<MappedByteBuffer> chunks = mapChunks(channel, size, chunkBytes);
+
+            // Pasada 1: filas válidas por bloque.
+            int[] counts = new int[chunks.size()];
+            IntStream.range(0, chunks.size()).parallel().forEach(i -> counts[i] = countRows(chunks.get(i)));
+
+            // Suma de prefijos: posición de inicio de cada bloque en el array final.
+            int[] offsets = new int[chunks.size()];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                offsets[i] = (int) total;
+                total += counts[i];
+            }
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IOException("El archivo tiene demasiadas filas para un array: " + total);
+            }
+
+            // Pasada 2: cada bloque escribe en su propio rango, sin sincronización.
+            T[] result = arrayFactory.apply((int) total);
+            IntStream.range(0, chunks.size()).parallel().forEach(i -> parseRows(chunks.get(i), result, offsets[i], mapper));
+            return result;
+        }
+    }
+
+    // Divide el archivo (sin el encabezado) en bloques que terminan justo después de un '\n'.
+    private static List<MappedByteBuffer> mapChunks(FileChannel channel, long size, long chunkBytes) throws IOException {
+        List<MappedByteBuffer> chunks = new ArrayList<>();
+        long start = skipLine(channel, 0, size); // Saltar el encabezado.
+
+        while (start < size) {
+            long end = Math.min(size, start + chunkBytes);
+            if (end < size) {
+                end = skipLine(channel, end, size);
+            }
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    // Devuelve la posición siguiente al primer '\n' a partir de 'from' (o el fin del archivo).
+    private static long skipLine(FileChannel channel, long from, long size) throws IOException {
+        final int window = 4096;
+        long pos = from;
+        while (pos < size) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(window, size - pos));
+            for (int i = 0; i < buf.limit(); i++) {
+                if (buf.get(i) == NEWLINE) return pos + i + 1;
+            }
+            pos += buf.limit();
+        }
+        return size;
+    }
+
+    // Cuenta las filas válidas: exactamente 3 campos y el último no vacío (igual que el split de CsvDataLoader).
+    private static int countRows(MappedByteBuffer buf) {
+        int count = 0;
+        int separators = 0;
+        boolean lastFieldBlank = true;
+        int limit = buf.limit();
+
+        for (int i = 0; i < limit; i++) {
+            byte b = buf.get(i);
+            if (b == NEWLINE) {
+                if (!lastFieldBlank && separators == FIELDS - 1) count++;
+                separators = 0;
+                lastFieldBlank = true;
+            } else if (b == SEPARATOR) {
+                separators++;
+                lastFieldBlank = true;
+            } else if (!isSpace(b)) {
+                lastFieldBlank = false;
+            }
+        }
+        // Última línea sin '\n' final.
+        if (!lastFieldBlank && separators == FIELDS - 1) count++;
+        return count;
+    }
+
+    // Parsea las filas válidas del bloque y las escribe en out[offset...].
+    private static <T> void parseRows(MappedByteBuffer buf, T[] out, int offset, RowMapper<T> mapper) {
+        Row row = new Row(buf);
+        int limit = buf.limit();
+        int lineStart = 0;
+        int pos = offset;
+
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buf.get(lineEnd) != NEWLINE) lineEnd++;
+
+            if (row.split(lineStart, lineEnd)) {
+                out[pos++] = mapper.map(row);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Vista reutilizable de la fila actual: guarda los límites de cada campo (ya sin espacios)
+     * y un buffer de bytes compartido para decodificar cadenas.
+     */
+    static final class Row {
+        private final MappedByteBuffer buf;
+        private final int[] start = new int[FIELDS];
+        private final int[] end = new int[FIELDS];
+        private byte[] scratch = new byte[64];
+
+        Row(MappedByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        // Localiza los campos de la línea [from, to). Devuelve false si no tiene 3 campos o el último está vacío.
+        boolean split(int from, int to) {
+            int field = 0;
+            int fieldStart = from;
+
+            for (int i = from; i <= to; i++) {
+                if (i == to || buf.get(i) == SEPARATOR) {
+                    if (field == FIELDS) return false;
+                    setField(field++, fieldStart, i);
+                    fieldStart = i + 1;
+                }
+            }
+            return field == FIELDS && start[FIELDS - 1] < end[FIELDS - 1];
+        }
+
+        private void setField(int field, int from, int to) {
+            while (from < to && isSpace(buf.get(from))) from++;
+            while (to > from && isSpace(buf.get(to - 1))) to--;
+            start[field] = from;
+            end[field] = to;
+        }
+
+        // Decodifica el campo como texto UTF-8.
+        String string(int field) {
+            int len = end[field] - start[field];
+            if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+            buf.get(start[field], scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+
+        // Parsea el campo como entero decimal (con signo opcional) sin crear un String intermedio.
+        int integer(int field) {
+            int i = start[field];
+            int to = end[field];
+            if (i == to) throw new NumberFormatException("Campo numérico vacío");
+
+            boolean negative = buf.get(i) == '-';
+            if (negative || buf.get(i) == '+') i++;
+            if (i == to) throw new NumberFormatException("Campo numérico inválido: " + string(field));
+
+            long value = 0;
+            for (; i < to; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) throw new NumberFormatException("Campo numérico inválido: " + string(field));
+                value = value * 10 + d;
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("Número fuera de rango: " + string(field));
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) throw new NumberFormatException("Número fuera de rango: " + string(field));
+            return (int) value;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package ed.u2.datasets;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de datasets CSV de tamaño arbitrario (hasta cientos de millones de filas) y con distribución configurable.
+ * El archivo se divide en bloques de filas; cada bloque se genera en paralelo con su propio SplittableRandom
+ * (derivado en orden de una semilla raíz), por lo que la salida es determinista sin importar el número de hilos.
+ * Las filas se escriben byte a byte en buffers directos grandes (sin String.format) y se vuelcan con FileChannel.
+ * La memoria directa total de esos buffers tiene un tope: si no alcanza para un buffer por hilo, se generan menos
+ * bloques a la vez (el tamaño de bloque no cambia, así que el archivo tampoco).
+ * El formato es el mismo que el de los CSV del taller, así que CsvDataLoader y MappedCsvLoader pueden leerlos.
+ */
+public final class ScalableDatasetGenerator {
+
+    // Tipo de dataset a generar.
+    public enum Kind { APPOINTMENTS, PATIENTS, INVENTORY }
+
+    // Distribución de la clave de ordenación (fecha/hora, prioridad o stock).
+    public enum Distribution {
+        RANDOM,         // Claves aleatorias uniformes.
+        NEARLY_SORTED,  // Claves ordenadas con un % de intercambios aleatorios (dentro de cada bloque).
+        REVERSED,       // Claves en orden descendente.
+        FEW_UNIQUE,     // Solo unas pocas claves distintas.
+        SAWTOOTH,       // Varias rampas ascendentes consecutivas.
+        ZIPF_SURNAMES   // Claves aleatorias y apellidos/insumos con sesgo Zipf (pocos nombres muy frecuentes).
+    }
+
+    public static final int DEFAULT_ROWS_PER_CHUNK = 1 << 18;
+
+    // Tope por defecto de memoria directa entre todos los buffers (256 MB).
+    public static final long DEFAULT_MAX_BUFFER_BYTES = 256L << 20;
+
+    // Ancho de la fecha y hora de una cita: yyyy-MM-dd'T'HH:mm.
+    private static final int DATE_TIME_BYTES = 16;
+
+    // Número de valores distintos en FEW_UNIQUE y número de rampas en SAWTOOTH.
+    private static final int FEW_UNIQUE_VALUES = 8;
+    private static final int SAWTOOTH_TEETH = 16;
+
+    // Exponente de la distribución Zipf.
+    private static final double ZIPF_EXPONENT = 1.07;
+
+    // Citas: franjas de 10 minutos de 08:00 a 17:50 (60 por día) durante todo 2025.
+    private static final long FIRST_DAY = LocalDate.of(2025, 1, 1).toEpochDay();
+    private static final int SLOTS_PER_DAY = 60;
+    private static final long APPOINTMENT_SLOTS = 365L * SLOTS_PER_DAY;
+
+    // Prioridades de pacientes: 1 (alta) a 3 (baja).
+    private static final long PATIENT_PRIORITIES = 3;
+
+    private static final String[] SURNAMES = {
+            "González", "Rodríguez", "García", "Martínez", "López", "Hernández", "Pérez", "Sánchez", "Ramírez", "Torres",
+            "Flores", "Rivera", "Gómez", "Díaz", "Vargas", "Castillo", "Morales", "Vásquez", "Ramos", "Ortiz",
+            "Cruz", "Guerrero", "Naranjo", "Cedeño", "Benítez", "Rojas", "Acosta", "Mendoza", "Salazar", "Pacheco",
+            "Soto", "Valencia", "Navarro", "Suárez", "Lozada", "Camacho", "Arias", "Bravo", "Montero", "Silva",
+            "León", "Ibarra", "Montaño"
+    };
+
+    private static final String[] SUPPLIES = {
+            "Guante Nitrilo Talla M", "Alcohol 70% 1L", "Gasas 10x10", "Mascarilla Quirúrgica", "Jeringa 5ml", "Catéter 14G",
+            "Venda Elástica", "Termómetro Digital", "Bata Desechable", "Papel Gasas", "Alcohol 70% 500ml", "Tiritas",
+            "Compresas Estériles", "Guantes Látex Talla L", "Gasa Hidrocoloide", "Silla Ruedas Plegable", "Bolsa Suero",
+            "Tubos Ensayo", "Aguja 21G", "Solución Salina 0.9%"
+    };
+
+    private final Kind kind;
+    private final long n;
+    private final Distribution distribution;
+    private final double swapPercent;
+    private final long seed;
+    private final int parallelism;
+    private final int rowsPerChunk;
+    private final long maxBufferBytes;
+
+    // Nombres (apellidos o insumos) ya codificados en UTF-8 y CDF de Zipf sobre ellos.
+    private final byte[][] names;
+    private final double[] zipfCdf;
+    private final byte[] idPrefix;
+    private final int idWidth;
+    private final long keyRange;
+    private final int rowBytes;
+
+    /**
+     * @param kind Tipo de dataset.
+     * @param n Número de filas (sin contar el encabezado).
+     * @param distribution Distribución de la clave.
+     * @param swapPercent Porcentaje de filas intercambiadas en NEARLY_SORTED (p. ej., 5 = 5%).
+     * @param seed Semilla raíz: la misma semilla produce el mismo archivo.
+     */
+    public ScalableDatasetGenerator(Kind kind, long n, Distribution distribution, double swapPercent, long seed) {
+        this(kind, n, distribution, swapPercent, seed, Runtime.getRuntime().availableProcessors(), DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    /**
+     * @param parallelism Número de hilos generadores.
+     * @param rowsPerChunk Filas por bloque (cada bloque usa un buffer directo de rowsPerChunk × bytes por fila).
+     */
+    public ScalableDatasetGenerator(Kind kind, long n, Distribution distribution, double swapPercent, long seed,
+                                    int parallelism, int rowsPerChunk) {
+        this(kind, n, distribution, swapPercent, seed, parallelism, rowsPerChunk, DEFAULT_MAX_BUFFER_BYTES);
+    }
+
+    /**
+     * @param maxBufferBytes Tope de memoria directa entre todos los buffers; debe alcanzar al menos para un bloque.
+     */
+    public ScalableDatasetGenerator(Kind kind, long n, Distribution distribution, double swapPercent, long seed,
+                                    int parallelism, int rowsPerChunk, long maxBufferBytes) {
+        if (n < 0) throw new IllegalArgumentException("N no puede ser negativo.");
+        if (swapPercent < 0 || swapPercent > 100) throw new IllegalArgumentException("El % de intercambios debe estar entre 0 y 100.");
+        if (parallelism < 1) throw new IllegalArgumentException("El paralelismo debe ser al menos 1.");
+        if (rowsPerChunk < 1) throw new IllegalArgumentException("Filas por bloque fuera de rango: " + rowsPerChunk);
+        this.kind = kind;
+        this.n = n;
+        this.distribution = distribution;
+        this.swapPercent = swapPercent;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.rowsPerChunk = rowsPerChunk;
+        this.maxBufferBytes = maxBufferBytes;
+
+        String[] pool = kind == Kind.INVENTORY ? SUPPLIES : SURNAMES;
+        this.names = new byte[pool.length][];
+        for (int i = 0; i < pool.length; i++) names[i] = pool[i].getBytes(StandardCharsets.UTF_8);
+        this.zipfCdf = zipfCdf(pool.length);
+
+        this.idPrefix = switch (kind) {
+            case APPOINTMENTS -> "CITA-".getBytes(StandardCharsets.US_ASCII);
+            case PATIENTS -> "PAC-".getBytes(StandardCharsets.US_ASCII);
+            case INVENTORY -> "ITEM-".getBytes(StandardCharsets.US_ASCII);
+        };
+        this.idWidth = Math.max(4, Long.toString(n).length());
+        this.keyRange = switch (kind) {
+            case APPOINTMENTS -> APPOINTMENT_SLOTS;
+            case PATIENTS -> PATIENT_PRIORITIES;
+            case INVENTORY -> Math.max(1, n);
+        };
+        this.rowBytes = maxRowBytes();
+
+        long chunkBytes = chunkBytes();
+        if (chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filas por bloque fuera de rango: " + rowsPerChunk);
+        }
+        if (chunkBytes > maxBufferBytes) {
+            throw new IllegalArgumentException("Un bloque de " + rowsPerChunk + " filas necesita " + chunkBytes
+                    + " bytes y el tope de memoria es " + maxBufferBytes + ": reduzca las filas por bloque.");
+        }
+    }
+
+    /**
+     * Genera el archivo CSV completo.
+     *
+     * @param out Ruta del archivo de salida (se sobrescribe).
+     * @throws IOException Si falla la escritura.
+     */
+    public void write(Path out) throws IOException {
+        long chunks = (n + rowsPerChunk - 1) / rowsPerChunk;
+        int bufferBytes = (int) chunkBytes();
+        // Tantos hilos como bloques y como buffers quepan en el tope de memoria (al menos uno, ver el constructor).
+        int slots = (int) Math.min(Math.min(parallelism, Math.max(1, chunks)), maxBufferBytes / bufferBytes);
+
+        // Un buffer directo por hilo; se reutilizan en cada tanda de bloques.
+        ByteBuffer[] buffers = new ByteBuffer[slots];
+        for (int i = 0; i < slots; i++) buffers[i] = ByteBuffer.allocateDirect(bufferBytes);
+
+        // Las semillas de los bloques se derivan en orden desde la raíz: el resultado no depende de los hilos.
+        SplittableRandom root = new SplittableRandom(seed);
+        ForkJoinPool pool = new ForkJoinPool(slots);
+
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap((header() + "\n").getBytes(StandardCharsets.UTF_8)));
+
+            for (long wave = 0; wave < chunks; wave += slots) {
+                List<Future<?>> tasks = new ArrayList<>(slots);
+                for (int s = 0; s < slots && wave + s < chunks; s++) {
+                    long chunk = wave + s;
+                    ByteBuffer buf = buffers[s];
+                    SplittableRandom rng = root.split();
+                    tasks.add(pool.submit(() -> renderChunk(chunk, rng, buf)));
+                }
+
+                // Escribe la tanda en orden de bloque.
+                for (int s = 0; s < tasks.size(); s++) {
+                    tasks.get(s).get();
+                    writeFully(channel, buffers[s]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error generando el dataset", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Bytes del buffer de un bloque (un bloque nunca tiene más de n filas).
+    private long chunkBytes() {
+        return Math.min((long) rowsPerChunk, Math.max(1, n)) * rowBytes;
+    }
+
+    // Cota exacta de bytes por fila: id + ';' + nombre más largo + ';' + clave más larga + '\n'.
+    private int maxRowBytes() {
+        int name = 0;
+        for (byte[] b : names) name = Math.max(name, b.length);
+        int key = kind == Kind.APPOINTMENTS ? DATE_TIME_BYTES : Long.toString(keyRange).length();
+        return idPrefix.length + idWidth + 1 + name + 1 + key + 1;
+    }
+
+    private String header() {
+        return switch (kind) {
+            case APPOINTMENTS -> CsvFormat.APPOINTMENTS.header();
+            case PATIENTS -> CsvFormat.PATIENTS.header();
+            case INVENTORY -> CsvFormat.INVENTORY.header();
+        };
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) channel.write(buf);
+    }
+
+    // Genera las filas [chunk × rowsPerChunk, ...) en 'buf', listo para escribir.
+    private void renderChunk(long chunk, SplittableRandom rng, ByteBuffer buf) {
+        long from = chunk * rowsPerChunk;
+        int len = (int) Math.min(rowsPerChunk, n - from);
+
+        long[] keys = new long[len];
+        for (int i = 0; i < len; i++) keys[i] = key(from + i, rng);
+
+        // Casi ordenado: k% de las filas del bloque participan en intercambios aleatorios.
+        if (distribution == Distribution.NEARLY_SORTED && len > 1) {
+            long swaps = Math.round(len * swapPercent / 200.0);
+            for (long s = 0; s < swaps; s++) {
+                int i = rng.nextInt(len);
+                int j = rng.nextInt(len);
+                long t = keys[i];
+                keys[i] = keys[j];
+                keys[j] = t;
+            }
+        }
+
+        buf.clear();
+        for (int i = 0; i < len; i++) {
+            buf.put(idPrefix);
+            putPadded(buf, from + i + 1, idWidth);
+            buf.put((byte) ';');
+            buf.put(names[distribution == Distribution.ZIPF_SURNAMES ? zipf(rng) : rng.nextInt(names.length)]);
+            buf.put((byte) ';');
+            putKey(buf, keys[i]);
+            buf.put((byte) '\n');
+        }
+        buf.flip();
+    }
+
+    // Clave (0 .. keyRange-1) de la fila i según la distribución.
+    private long key(long i, SplittableRandom rng) {
+        return switch (distribution) {
+            case RANDOM, ZIPF_SURNAMES -> rng.nextLong(keyRange);
+            case NEARLY_SORTED -> scale(i, n, keyRange);
+            case REVERSED -> scale(n - 1 - i, n, keyRange);
+            case FEW_UNIQUE -> {
+                long distinct = Math.min(FEW_UNIQUE_VALUES, keyRange);
+                yield scale(rng.nextLong(distinct), distinct, keyRange);
+            }
+            case SAWTOOTH -> {
+                long period = Math.max(1, (n + SAWTOOTH_TEETH - 1) / SAWTOOTH_TEETH);
+                yield scale(i % period, period, keyRange);
+            }
+        };
+    }
+
+    // Proyecta i ∈ [0, size) de forma monótona sobre [0, range).
+    private static long scale(long i, long size, long range) {
+        return size <= 1 ? 0 : (long) ((double) i / size * range);
+    }
+
+    // Escribe la clave en el formato del dataset.
+    private void putKey(ByteBuffer buf, long key) {
+        switch (kind) {
+            case APPOINTMENTS -> {
+                // yyyy-MM-dd'T'HH:mm
+                LocalDate date = LocalDate.ofEpochDay(FIRST_DAY + key / SLOTS_PER_DAY);
+                int slot = (int) (key % SLOTS_PER_DAY);
+                putPadded(buf, date.getYear(), 4);
+                buf.put((byte) '-');
+                putPadded(buf, date.getMonthValue(), 2);
+                buf.put((byte) '-');
+                putPadded(buf, date.getDayOfMonth(), 2);
+                buf.put((byte) 'T');
+                putPadded(buf, 8 + slot / 6, 2);
+                buf.put((byte) ':');
+                putPadded(buf, (slot % 6) * 10, 2);
+            }
+            case PATIENTS -> putPadded(buf, key + 1, 1);
+            case INVENTORY -> putPadded(buf, key + 1, 1);
+        }
+    }
+
+    // Escribe un entero no negativo en decimal con ceros a la izquierda hasta 'width' dígitos.
+    private static void putPadded(ByteBuffer buf, long value, int width) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        for (int i = digits; i < width; i++) buf.put((byte) '0');
+
+        int end = buf.position() + digits;
+        for (int p = end - 1; p >= end - digits; p--) {
+            buf.put(p, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buf.position(end);
+    }
+
+    // CDF acumulada de Zipf(s) sobre 'size' elementos (el índice 0 es el más frecuente).
+    private static double[] zipfCdf(int size) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) cdf[k] /= sum;
+        return cdf;
+    }
+
+    // Muestra un índice Zipf por búsqueda binaria sobre la CDF.
+    private int zipf(SplittableRandom rng) {
+        double u = rng.nextDouble();
+        int lo = 0;
+        int hi = zipfCdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (zipfCdf[mid] < u) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,318 @@
+package ed.u2.index;
+
+import ed.u2.models.Appointment;
+import ed.u2.sorting.RadixSort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de citas ordenado por fecha/hora que se mantiene al día con inserciones y borrados por lotes,
+ * sin volver a ordenar todo el arreglo.
+ * Es un arreglo ordenado partido en bloques (como las hojas de un árbol B+): cada bloque guarda hasta
+ * MAX_CHUNK citas con su clave (minuto época) y los bloques están ordenados entre sí.
+ * - Ubicar una clave: búsqueda binaria sobre los bloques y luego dentro del bloque, O(log n).
+ * - Insertar o borrar: desplazamiento dentro de un solo bloque, O(MAX_CHUNK); un lote de b citas cuesta O(b log n).
+ * - Un bloque lleno se parte en dos; uno que queda por debajo de MIN_CHUNK se une con su vecino si caben.
+ * Las citas con la misma fecha/hora conservan su orden de llegada (igual que un ordenamiento estable).
+ * No es thread-safe.
+ */
+public class AppointmentIndex {
+
+    // Capacidad máxima de un bloque: acota el costo de cada desplazamiento.
+    public static final int MAX_CHUNK = 512;
+
+    // Por debajo de este tamaño un bloque intenta unirse con el siguiente.
+    public static final int MIN_CHUNK = MAX_CHUNK / 4;
+
+    // Hoja del índice: claves y citas en posiciones paralelas, ordenadas por clave.
+    private static final class Chunk {
+        final long[] keys = new long[MAX_CHUNK];
+        final Appointment[] items = new Appointment[MAX_CHUNK];
+        int size;
+
+        long lastKey() {
+            return keys[size - 1];
+        }
+    }
+
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    // Clave de cada cita presente, para borrar por id sin recorrer el índice.
+    private final Map<String, Long> keyById = new HashMap<>();
+
+    private int size;
+
+    public AppointmentIndex() {}
+
+    // Construye el índice con un lote inicial (ver addAll).
+    public AppointmentIndex(Appointment[] initial) {
+        addAll(initial);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String id) {
+        return keyById.containsKey(id);
+    }
+
+    /**
+     * Inserta un lote de citas. El lote se ordena primero con RadixSort (estable, O(b)) y luego cada cita
+     * se coloca después de las que ya tienen la misma fecha/hora.
+     *
+     * @param batch Citas nuevas; sus ids no pueden estar ya en el índice ni repetirse dentro del lote.
+     * @throws IllegalArgumentException Si algún id ya existe o se repite.
+     */
+    public void addAll(Appointment[] batch) {
+        if (batch == null || batch.length == 0) {
+            return;
+        }
+
+        // Se valida todo el lote antes de modificar el índice.
+        Map<String, Long> incoming = new HashMap<>();
+        for (Appointment ap : batch) {
+            if (keyById.containsKey(ap.id()) || incoming.put(ap.id(), ap.getEpochMinute()) != null) {
+                throw new IllegalArgumentException("Cita duplicada: " + ap.id());
+            }
+        }
+
+        Appointment[] sorted = batch.clone();
+        RadixSort.sortByLong(sorted, ap -> incoming.get(ap.id()));
+        for (Appointment ap : sorted) {
+            insert(incoming.get(ap.id()), ap);
+        }
+        keyById.putAll(incoming);
+    }
+
+    // Inserta una sola cita (lote de tamaño 1).
+    public void add(Appointment appointment) {
+        addAll(new Appointment[] { appointment });
+    }
+
+    /**
+     * Borra un lote de citas por id. Los ids que no están en el índice se ignoran.
+     *
+     * @param ids Ids a borrar.
+     * @return Número de citas borradas.
+     */
+    public int removeAll(Collection<String> ids) {
+        int removed = 0;
+        for (String id : ids) {
+            Long key = keyById.remove(id);
+            if (key != null && remove(key, id)) removed++;
+        }
+        return removed;
+    }
+
+    // Borra una sola cita por id; devuelve true si estaba en el índice.
+    public boolean remove(String id) {
+        return removeAll(List.of(id)) == 1;
+    }
+
+    /**
+     * Citas con fecha/hora en [from, to), en orden.
+     *
+     * @param from Inicio del rango (inclusive).
+     * @param to Fin del rango (exclusive).
+     * @return Las citas del rango; un arreglo vacío si no hay ninguna.
+     */
+    public Appointment[] range(LocalDateTime from, LocalDateTime to) {
+        return range(epochMinute(from), epochMinute(to));
+    }
+
+    // Citas de un día completo.
+    public Appointment[] day(LocalDate day) {
+        return range(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    // Citas en la ventana [start, start + length), p. ej., una hora.
+    public Appointment[] window(LocalDateTime start, Duration length) {
+        return range(start, start.plus(length));
+    }
+
+    // Número de citas de cada bloque, en orden (diagnóstico: deja ver las particiones y uniones de bloques).
+    public int[] chunkSizes() {
+        return chunks.stream().mapToInt(c -> c.size).toArray();
+    }
+
+    /**
+     * Copia del índice como arreglo ordenado por fecha/hora. Se puede pasar a las utilidades existentes
+     * (SortingUtils, BinaryDatasetIO, los algoritmos de ordenación) sin que cambios posteriores la afecten.
+     *
+     * @return Todas las citas en orden.
+     */
+    public Appointment[] toArray() {
+        Appointment[] out = new Appointment[size];
+        int pos = 0;
+        for (Chunk c : chunks) {
+            System.arraycopy(c.items, 0, out, pos, c.size);
+            pos += c.size;
+        }
+        return out;
+    }
+
+    // Citas con clave en [fromKey, toKey).
+    private Appointment[] range(long fromKey, long toKey) {
+        if (fromKey >= toKey || chunks.isEmpty()) {
+            return new Appointment[0];
+        }
+
+        List<Appointment> out = new ArrayList<>();
+        int ci = chunkFor(fromKey);
+        int i = ci < chunks.size() ? lowerBound(chunks.get(ci), fromKey) : 0;
+        for (; ci < chunks.size(); ci++, i = 0) {
+            Chunk c = chunks.get(ci);
+            for (; i < c.size; i++) {
+                if (c.keys[i] >= toKey) return out.toArray(new Appointment[0]);
+                out.add(c.items[i]);
+            }
+        }
+        return out.toArray(new Appointment[0]);
+    }
+
+    // Inserta después de todas las citas con la misma clave.
+    private void insert(long key, Appointment ap) {
+        if (chunks.isEmpty()) {
+            Chunk first = new Chunk();
+            first.keys[0] = key;
+            first.items[0] = ap;
+            first.size = 1;
+            chunks.add(first);
+            size++;
+            return;
+        }
+
+        // Bloque donde termina el grupo de claves iguales (o el último, si la clave es la mayor).
+        int ci = Math.min(chunkAfter(key), chunks.size() - 1);
+        Chunk c = chunks.get(ci);
+
+        if (c.size == MAX_CHUNK) {
+            split(ci);
+            if (key >= chunks.get(ci + 1).keys[0]) {
+                ci++;
+            }
+            c = chunks.get(ci);
+        }
+
+        int pos = upperBound(c, key);
+        System.arraycopy(c.keys, pos, c.keys, pos + 1, c.size - pos);
+        System.arraycopy(c.items, pos, c.items, pos + 1, c.size - pos);
+        c.keys[pos] = key;
+        c.items[pos] = ap;
+        c.size++;
+        size++;
+    }
+
+    // Busca la cita por clave e id dentro del grupo de claves iguales y la quita.
+    private boolean remove(long key, String id) {
+        for (int ci = chunkFor(key); ci < chunks.size(); ci++) {
+            Chunk c = chunks.get(ci);
+            for (int i = lowerBound(c, key); i < c.size; i++) {
+                if (c.keys[i] != key) return false;
+                if (c.items[i].id().equals(id)) {
+                    System.arraycopy(c.keys, i + 1, c.keys, i, c.size - i - 1);
+                    System.arraycopy(c.items, i + 1, c.items, i, c.size - i - 1);
+                    c.items[--c.size] = null;
+                    size--;
+                    rebalance(ci);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Parte un bloque lleno en dos mitades.
+    private void split(int ci) {
+        Chunk c = chunks.get(ci);
+        Chunk right = new Chunk();
+        int half = c.size / 2;
+        right.size = c.size - half;
+        System.arraycopy(c.keys, half, right.keys, 0, right.size);
+        System.arraycopy(c.items, half, right.items, 0, right.size);
+        Arrays.fill(c.items, half, c.size, null);
+        c.size = half;
+        chunks.add(ci + 1, right);
+    }
+
+    // Quita bloques vacíos y une un bloque pequeño con el siguiente si ambos caben en uno.
+    private void rebalance(int ci) {
+        Chunk c = chunks.get(ci);
+        if (c.size == 0) {
+            chunks.remove(ci);
+            return;
+        }
+        if (c.size >= MIN_CHUNK || ci + 1 >= chunks.size()) {
+            return;
+        }
+        Chunk next = chunks.get(ci + 1);
+        if (c.size + next.size <= MAX_CHUNK) {
+            System.arraycopy(next.keys, 0, c.keys, c.size, next.size);
+            System.arraycopy(next.items, 0, c.items, c.size, next.size);
+            c.size += next.size;
+            chunks.remove(ci + 1);
+        }
+    }
+
+    // Primer bloque cuya última clave es >= key (donde empieza el grupo de 'key').
+    private int chunkFor(long key) {
+        int lo = 0;
+        int hi = chunks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (chunks.get(mid).lastKey() < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Primer bloque cuya última clave es > key (donde termina el grupo de 'key').
+    private int chunkAfter(long key) {
+        int lo = 0;
+        int hi = chunks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (chunks.get(mid).lastKey() <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Primera posición del bloque con clave >= key.
+    private static int lowerBound(Chunk c, long key) {
+        int lo = 0;
+        int hi = c.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.keys[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Primera posición del bloque con clave > key.
+    private static int upperBound(Chunk c, long key) {
+        int lo = 0;
+        int hi = c.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.keys[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static long epochMinute(LocalDateTime t) {
+        return Math.floorDiv(t.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
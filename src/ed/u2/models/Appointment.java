@@ -1,22 +1,40 @@
 package ed.u2.models;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 // Clase que representa una cita
 // Uso de record para crear clases de datos inmutables de forma concisa.
-public record Appointment(String id, String lastName, String dateTimeStr) {
+// La fecha/hora se guarda ya convertida a minutos desde la época (UTC): se parsea una sola vez al construir la cita
+// y el formato binario puede crear citas directamente desde el minuto guardado, sin pasar por texto.
+public record Appointment(String id, String lastName, long epochMinute) {
 
     // Formateador estático y final para definir el patrón fecha/hora.
     public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
 
-    // Convierte la cadena de texto dateTimeStr en un objeto LocalDateTime.
+    // Crea la cita a partir de la fecha/hora en texto (formato de los CSV).
+    public Appointment(String id, String lastName, String dateTimeStr) {
+        this(id, lastName, LocalDateTime.parse(dateTimeStr, FORMATTER).toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    // Fecha/hora de la cita como LocalDateTime (sin parsear texto).
     public LocalDateTime getDateTime() {
-        return LocalDateTime.parse(dateTimeStr, FORMATTER);
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    // Clave primitiva: minutos desde la época (UTC). Permite ordenar citas con claves long sin objetos LocalDateTime.
+    public long getEpochMinute() {
+        return epochMinute;
+    }
+
+    // Fecha/hora en el formato de los CSV (yyyy-MM-dd'T'HH:mm).
+    public String dateTimeStr() {
+        return getDateTime().format(FORMATTER);
     }
 
     @Override
     public String toString() {
-        return "%s %s (%s)".formatted(id, lastName, dateTimeStr);
+        return "%s %s (%s)".formatted(id, lastName, dateTimeStr());
     }
 }
@@ -0,0 +1,300 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Selector adaptativo: mide qué tan ordenada está la entrada y delega en el algoritmo más adecuado.
+ * La sonda hace una sola pasada sobre pares adyacentes (n extracciones, n-1 comparaciones) y dos muestreos
+ * de tamaño fijo: pares aleatorios para estimar la fracción de inversiones y claves para estimar la cardinalidad.
+ * Su costo se suma a las métricas del algoritmo elegido y también se informa por separado en la decisión.
+ *
+ * Reglas (en orden):
+ * - Ya ordenado: no hace nada.
+ * - No creciente (tramos descendentes con iguales incluidos): inversión estable en O(n).
+ * - Pocos elementos: InsertionSort.
+ * - Pocos tramos o pocas inversiones: NaturalMergeSort (se acerca a O(n)).
+ * - Muchas claves repetidas: IntroSort (partición de tres vías) si no se exige estabilidad.
+ * - Entradas grandes con varios hilos disponibles: ParallelMergeSort.
+ * - Resto: NaturalMergeSort si se exige estabilidad, IntroSort si no.
+ */
+public class AdaptiveSort<T> implements SortingAlgorithm<T>, AutoCloseable {
+
+    // Hasta este tamaño InsertionSort gana a cualquier otro algoritmo.
+    private static final int INSERTION_MAX = 32;
+
+    // Tamaño mínimo para que el paralelismo compense el costo de crear las tareas.
+    private static final int PARALLEL_MIN = 1 << 15;
+
+    // Número de pares y de claves que se muestrean.
+    private static final int SAMPLE_SIZE = 256;
+
+    // Fracción de inversiones por debajo de la cual la entrada se considera casi ordenada.
+    private static final double NEARLY_SORTED_INVERSIONS = 0.05;
+
+    // Un tramo cada 64 elementos o menos: la mezcla natural trabaja casi en O(n).
+    private static final int ELEMENTS_PER_RUN = 64;
+
+    // Fracción de claves distintas en la muestra por debajo de la cual hay "muchos duplicados".
+    private static final double LOW_CARDINALITY = 0.125;
+
+    // Semilla fija: la misma entrada produce siempre la misma decisión.
+    private static final long SEED = 0x5EED;
+
+    // Estrategias que puede elegir el selector.
+    public enum Strategy { ALREADY_SORTED, REVERSE, INSERTION, NATURAL_MERGE, INTRO, PARALLEL_MERGE }
+
+    /**
+     * Perfil de la entrada obtenido por la sonda.
+     *
+     * @param size Número de elementos.
+     * @param runs Tramos no decrecientes maximales (1 si ya está ordenado).
+     * @param descents Pares adyacentes con a[i] > a[i+1].
+     * @param ascents Pares adyacentes con a[i] < a[i+1].
+     * @param inversionRatio Fracción estimada de pares (i < j) invertidos, entre 0 y 1.
+     * @param distinctRatio Fracción de claves distintas en la muestra, entre 0 y 1.
+     */
+    public record Presortedness(int size, long runs, long descents, long ascents, double inversionRatio,
+            double distinctRatio) {
+
+        public boolean sorted() {
+            return descents == 0;
+        }
+
+        // Sin ningún par creciente: la entrada es no creciente y basta con invertirla.
+        public boolean nonIncreasing() {
+            return ascents == 0;
+        }
+    }
+
+    /**
+     * Decisión tomada para una entrada.
+     *
+     * @param strategy Algoritmo elegido.
+     * @param profile Perfil medido por la sonda.
+     * @param probeCost Comparaciones y extracciones de clave gastadas por la sonda.
+     */
+    public record Decision(Strategy strategy, Presortedness profile, SortMetrics probeCost) {}
+
+    private final boolean stable;
+    private final int parallelism;
+    // Se crea con la primera decisión PARALLEL_MERGE: con un solo hilo (o entradas chicas) nunca existe el pool.
+    private ParallelMergeSort<T> parallel;
+    private volatile Decision lastDecision;
+
+    // Selector estable con tantos hilos como núcleos disponibles.
+    public AdaptiveSort() {
+        this(true, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stable true para elegir solo algoritmos estables (nunca IntroSort).
+     * @param parallelism Hilos disponibles para ParallelMergeSort (1 lo desactiva).
+     */
+    public AdaptiveSort(boolean stable, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1.");
+        }
+        this.stable = stable;
+        this.parallelism = parallelism;
+    }
+
+    // Hilos que usó la última ordenación: 'parallelism' si eligió ParallelMergeSort, 1 en cualquier otro caso.
+    @Override
+    public int threads() {
+        Decision decision = lastDecision;
+        return decision != null && decision.strategy() == Strategy.PARALLEL_MERGE ? parallelism : 1;
+    }
+
+    // Libera el pool de ParallelMergeSort que reutiliza entre ordenaciones (si llegó a crearse).
+    @Override
+    public synchronized void close() {
+        if (parallel != null) {
+            parallel.close();
+        }
+    }
+
+    // ParallelMergeSort compartido entre ordenaciones; su ForkJoinPool se crea la primera vez que se elige.
+    private synchronized ParallelMergeSort<T> parallel() {
+        if (parallel == null) {
+            parallel = new ParallelMergeSort<>(parallelism, ParallelMergeSort.DEFAULT_CUTOFF);
+        }
+        return parallel;
+    }
+
+    // Solo es estable si se construyó para elegir algoritmos estables.
+    @Override
+    public boolean stable() {
+        return stable;
+    }
+
+    // Última decisión tomada por sort / sortUncounted (null si aún no se ordenó nada).
+    public Decision lastDecision() {
+        return lastDecision;
+    }
+
+    @Override
+    public SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Camino sin métricas: la sonda decide igual, pero el algoritmo elegido corre por su camino sin contadores.
+    @Override
+    public void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        Decision decision = decide(a, keyExtractor);
+        switch (decision.strategy()) {
+            case ALREADY_SORTED -> { }
+            case REVERSE -> reverseStable(a, keyExtractor, false, SortProbe.NONE);
+            case INSERTION -> InsertionSort.sortUncounted(a, keyExtractor);
+            case NATURAL_MERGE -> NaturalMergeSort.sortUncounted(a, keyExtractor);
+            case INTRO -> IntroSort.sortUncounted(a, keyExtractor);
+            case PARALLEL_MERGE -> parallel().sortUncounted(a, keyExtractor);
+        }
+        lastDecision = decision;
+    }
+
+    /**
+     * Mide la entrada, elige el algoritmo y ordena. 'probe' recibe el costo de la sonda y el del algoritmo elegido.
+     *
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     * @return La decisión tomada.
+     */
+    public Decision sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        Decision decision = decide(a, keyExtractor);
+        SortMetrics cost = decision.probeCost();
+        probe.comparisons(cost.comparisons());
+        probe.keyExtractions(cost.keyExtractions());
+
+        switch (decision.strategy()) {
+            case ALREADY_SORTED -> { }
+            case REVERSE -> reverseStable(a, keyExtractor, true, probe);
+            case INSERTION -> InsertionSort.sort(a, 0, a.length, keyExtractor, probe);
+            case NATURAL_MERGE -> NaturalMergeSort.sort(a, keyExtractor, probe);
+            case INTRO -> IntroSort.sort(a, keyExtractor, probe);
+            case PARALLEL_MERGE -> parallel().sort(a, keyExtractor, probe);
+        }
+
+        lastDecision = decision;
+        return decision;
+    }
+
+    /**
+     * Ejecuta solo la sonda y la regla de selección, sin modificar el array.
+     *
+     * @param a El array a analizar.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return La decisión que tomaría sort.
+     */
+    public Decision decide(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        int n = a == null ? 0 : a.length;
+        if (n < 2) {
+            return new Decision(Strategy.ALREADY_SORTED, new Presortedness(n, n, 0, 0, 0, 1), new SortMetrics(0, 0));
+        }
+
+        CountingProbe cost = new CountingProbe();
+        Presortedness p = profile(a, keyExtractor, cost);
+        return new Decision(choose(p), p, cost.toMetrics());
+    }
+
+    private Strategy choose(Presortedness p) {
+        int n = p.size();
+        if (p.sorted()) return Strategy.ALREADY_SORTED;
+        if (p.nonIncreasing()) return Strategy.REVERSE;
+        if (n <= INSERTION_MAX) return Strategy.INSERTION;
+        if (p.runs() <= Math.max(2, n / ELEMENTS_PER_RUN) || p.inversionRatio() < NEARLY_SORTED_INVERSIONS) {
+            return Strategy.NATURAL_MERGE;
+        }
+        if (!stable && p.distinctRatio() < LOW_CARDINALITY) return Strategy.INTRO;
+        if (n >= PARALLEL_MIN && parallelism > 1) return Strategy.PARALLEL_MERGE;
+        return stable ? Strategy.NATURAL_MERGE : Strategy.INTRO;
+    }
+
+    // Pasada única sobre pares adyacentes más los dos muestreos de tamaño fijo.
+    @SuppressWarnings("unchecked")
+    private static <T> Presortedness profile(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                             CountingProbe cost) {
+        int n = a.length;
+        long descents = 0;
+        long ascents = 0;
+
+        Comparable<Object> prev = (Comparable<Object>) keyExtractor.extract(a[0]);
+        for (int i = 1; i < n; i++) {
+            Comparable<Object> cur = (Comparable<Object>) keyExtractor.extract(a[i]);
+            int c = prev.compareTo(cur);
+            if (c > 0) descents++;
+            else if (c < 0) ascents++;
+            prev = cur;
+        }
+        cost.keyExtractions(n);
+        cost.comparisons(n - 1);
+
+        // Ordenado o no creciente: la pasada ya decide, no hace falta muestrear.
+        if (descents == 0 || ascents == 0) {
+            return new Presortedness(n, descents + 1, descents, ascents, descents == 0 ? 0 : 1, 1);
+        }
+
+        // Fracción de inversiones estimada con pares (i < j) aleatorios.
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        int pairs = Math.min(SAMPLE_SIZE, n);
+        int inverted = 0;
+        for (int s = 0; s < pairs; s++) {
+            int i = rnd.nextInt(n - 1);
+            int j = i + 1 + rnd.nextInt(n - 1 - i);
+            if (((Comparable<Object>) keyExtractor.extract(a[i])).compareTo(keyExtractor.extract(a[j])) > 0) inverted++;
+        }
+        cost.keyExtractions(2L * pairs);
+        cost.comparisons(pairs);
+
+        // Cardinalidad estimada con claves en posiciones equiespaciadas.
+        int keys = Math.min(SAMPLE_SIZE, n);
+        Set<Object> distinct = new HashSet<>();
+        for (int s = 0; s < keys; s++) {
+            distinct.add(keyExtractor.extract(a[(int) ((long) s * n / keys)]));
+        }
+        cost.keyExtractions(keys);
+
+        return new Presortedness(n, descents + 1, descents, ascents, (double) inverted / pairs,
+                (double) distinct.size() / keys);
+    }
+
+    // Invierte una entrada no creciente y luego reinvierte cada bloque de claves iguales para conservar la estabilidad.
+    // Con 'counted' en false no llama al gancho.
+    @SuppressWarnings("unchecked")
+    private static <T> void reverseStable(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, boolean counted,
+                                          SortProbe probe) {
+        reverse(a, 0, a.length, counted, probe);
+
+        int start = 0;
+        Comparable<Object> startKey = (Comparable<Object>) keyExtractor.extract(a[0]);
+        if (counted) probe.keyExtractions(a.length);
+        for (int i = 1; i <= a.length; i++) {
+            if (i < a.length) {
+                if (counted) probe.comparisons(1);
+                Comparable<Object> key = (Comparable<Object>) keyExtractor.extract(a[i]);
+                if (startKey.compareTo(key) == 0) continue;
+                startKey = key;
+            }
+            reverse(a, start, i, counted, probe);
+            start = i;
+        }
+    }
+
+    private static <T> void reverse(T[] a, int lo, int hi, boolean counted, SortProbe probe) {
+        for (hi--; lo < hi; lo++, hi--) {
+            T t = a[lo];
+            a[lo] = a[hi];
+            a[hi] = t;
+            if (counted) {
+                probe.swaps(1);
+                probe.moves(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ed.u2.sorting;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memoria asignada y actividad del GC durante las corridas medidas de un benchmark.
+ * Los bytes salen del contador por hilo de com.sun.management.ThreadMXBean: cubren solo el hilo que ordena,
+ * así que no incluyen lo que asignan hilos auxiliares (p. ej., las tareas de ParallelMergeSort).
+ * Un valor -1 indica que la JVM no ofrece esa medición.
+ *
+ * @param allocatedBytes Bytes asignados por corrida (mediana de las corridas medidas).
+ * @param maxAllocatedBytes Máximo de bytes asignados en una sola corrida.
+ * @param gcCount Colecciones del GC durante todas las corridas medidas.
+ * @param gcTimeMillis Tiempo total de GC (ms) durante todas las corridas medidas.
+ */
+public record AllocationStats(long allocatedBytes, long maxAllocatedBytes, long gcCount, long gcTimeMillis) {
+
+    // Resultado sin medición de memoria (p. ej., filas de un esquema anterior).
+    public static final AllocationStats UNKNOWN = new AllocationStats(-1, -1, -1, -1);
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            if (!sun.isThreadAllocatedMemoryEnabled()) sun.setThreadAllocatedMemoryEnabled(true);
+            return sun;
+        }
+        return null;
+    }
+
+    // Bytes asignados hasta ahora por el hilo actual (-1 si no está soportado).
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    // Colecciones acumuladas de todos los colectores desde que arrancó la JVM.
+    public static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    // Tiempo de GC acumulado (ms) de todos los colectores desde que arrancó la JVM.
+    public static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
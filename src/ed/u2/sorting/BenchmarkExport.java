@@ -0,0 +1,78 @@
+package ed.u2.sorting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exporta e importa listas de BenchmarkResult en CSV y JSON.
+ * Ambos formatos siguen el esquema BenchmarkResult.SCHEMA_VERSION: el JSON lo declara en el campo "schemaVersion"
+ * y en el CSV cada versión tiene un número de columnas distinto.
+ */
+public final class BenchmarkExport {
+
+    private BenchmarkExport() {}
+
+    /**
+     * Escribe los resultados como CSV: encabezado y una fila toCsvRow() por resultado.
+     *
+     * @param out Archivo de salida (se sobrescribe).
+     * @param results Resultados a exportar.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void writeCsv(Path out, Collection<BenchmarkResult> results) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write(BenchmarkResult.CSV_HEADER);
+            w.newLine();
+            for (BenchmarkResult r : results) {
+                w.write(r.toCsvRow());
+                w.newLine();
+            }
+        }
+    }
+
+    /**
+     * Lee un CSV generado por writeCsv (de este esquema o del anterior).
+     *
+     * @param in Archivo CSV con encabezado.
+     * @return Los resultados en el orden del archivo.
+     * @throws IOException Si falla la lectura.
+     */
+    public static List<BenchmarkResult> readCsv(Path in) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        List<String> lines = Files.readAllLines(in, StandardCharsets.UTF_8);
+        for (int i = 1; i < lines.size(); i++) {
+            if (!lines.get(i).isBlank()) results.add(BenchmarkResult.fromCsvRow(lines.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Escribe los resultados como un documento JSON: {"schemaVersion": N, "results": [ ... ]}.
+     *
+     * @param out Archivo de salida (se sobrescribe).
+     * @param results Resultados a exportar.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void writeJson(Path out, Collection<BenchmarkResult> results) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("{\"schemaVersion\":" + BenchmarkResult.SCHEMA_VERSION + ",\"results\":[");
+            boolean first = true;
+            for (BenchmarkResult r : results) {
+                if (!first) w.write(',');
+                w.newLine();
+                w.write("  ");
+                w.write(r.toJson());
+                first = false;
+            }
+            w.newLine();
+            w.write("]}");
+            w.newLine();
+        }
+    }
+}
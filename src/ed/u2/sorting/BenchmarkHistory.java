@@ -0,0 +1,175 @@
+package ed.u2.sorting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historial local de benchmarks: un archivo CSV al que solo se agregan filas.
+ * Cada fila es un BenchmarkResult (toCsvRow()) precedido por la corrida que lo produjo: fecha, commit de git,
+ * JVM y host. Así los resultados se acumulan entre ejecuciones y RegressionCheck puede comparar dos corridas.
+ * Las filas de esquemas anteriores de BenchmarkResult se siguen leyendo (ver fromCsvRow).
+ */
+public final class BenchmarkHistory {
+
+    // Columnas de la corrida que preceden a las de BenchmarkResult.
+    private static final int RUN_COLUMNS = 4;
+
+    public static final String CSV_HEADER = "Timestamp;Commit;Jvm;Host;" + BenchmarkResult.CSV_HEADER;
+
+    private BenchmarkHistory() {}
+
+    /**
+     * Identifica una corrida. Dos resultados con el mismo RunInfo se midieron en la misma ejecución.
+     *
+     * @param timestamp Instante de inicio de la corrida (ISO-8601, UTC).
+     * @param commit Commit de git del código medido ("unknown" si no se pudo determinar).
+     * @param jvm Nombre y versión de la JVM.
+     * @param host Nombre de la máquina.
+     */
+    public record RunInfo(String timestamp, String commit, String jvm, String host) {
+
+        public RunInfo {
+            timestamp = clean(timestamp);
+            commit = clean(commit);
+            jvm = clean(jvm);
+            host = clean(host);
+        }
+
+        // Corrida actual: ahora, el commit de HEAD (o la variable GIT_COMMIT), la JVM en uso y el host local.
+        public static RunInfo current() {
+            return new RunInfo(Instant.now().toString(), gitCommit(),
+                    System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"), hostName());
+        }
+
+        // true si ambas corridas usan la misma JVM y el mismo host, es decir, si sus tiempos son comparables.
+        public boolean sameEnvironment(RunInfo other) {
+            return jvm.equals(other.jvm) && host.equals(other.host);
+        }
+
+        @Override
+        public String toString() {
+            return commit + " @ " + timestamp + " (" + jvm + ", " + host + ")";
+        }
+
+        // Los campos van en un CSV separado por ';'.
+        private static String clean(String s) {
+            return s == null || s.isBlank() ? "unknown" : s.trim().replace(';', ',');
+        }
+    }
+
+    /**
+     * Un resultado del historial junto con la corrida a la que pertenece.
+     *
+     * @param run La corrida.
+     * @param result El resultado medido.
+     */
+    public record Entry(RunInfo run, BenchmarkResult result) {}
+
+    /**
+     * Agrega los resultados de una corrida al final del historial. Crea el archivo (con encabezado) si no existe;
+     * nunca modifica filas existentes.
+     *
+     * @param history Archivo del historial.
+     * @param run La corrida que produjo los resultados.
+     * @param results Resultados a agregar.
+     * @throws IOException Si falla la escritura.
+     */
+    public static void append(Path history, RunInfo run, Collection<BenchmarkResult> results) throws IOException {
+        boolean isNew = !Files.exists(history) || Files.size(history) == 0;
+        String prefix = run.timestamp() + ";" + run.commit() + ";" + run.jvm() + ";" + run.host() + ";";
+
+        try (BufferedWriter w = Files.newBufferedWriter(history, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            if (isNew) {
+                w.write(CSV_HEADER);
+                w.newLine();
+            }
+            for (BenchmarkResult r : results) {
+                w.write(prefix);
+                w.write(r.toCsvRow());
+                w.newLine();
+            }
+        }
+    }
+
+    /**
+     * Lee todo el historial en el orden en que se escribió.
+     *
+     * @param history Archivo del historial.
+     * @return Las entradas; una lista vacía si el archivo no existe.
+     * @throws IOException Si falla la lectura o una fila no es válida.
+     */
+    public static List<Entry> read(Path history) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(history)) return entries;
+
+        List<String> lines = Files.readAllLines(history, StandardCharsets.UTF_8);
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) continue;
+
+            String[] run = line.split(";", RUN_COLUMNS + 1);
+            if (run.length <= RUN_COLUMNS) {
+                throw new IOException("Fila " + (i + 1) + " del historial inválida: " + line);
+            }
+            try {
+                entries.add(new Entry(new RunInfo(run[0], run[1], run[2], run[3]), BenchmarkResult.fromCsvRow(run[RUN_COLUMNS])));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Fila " + (i + 1) + " del historial inválida: " + e.getMessage(), e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Agrupa el historial por corrida, de la más antigua a la más reciente.
+     *
+     * @param entries Entradas leídas con read().
+     * @return Los resultados de cada corrida, en el orden del archivo.
+     */
+    public static Map<RunInfo, List<BenchmarkResult>> byRun(List<Entry> entries) {
+        Map<RunInfo, List<BenchmarkResult>> runs = new LinkedHashMap<>();
+        for (Entry e : entries) {
+            runs.computeIfAbsent(e.run(), r -> new ArrayList<>()).add(e.result());
+        }
+        return runs;
+    }
+
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String out = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !out.isEmpty()) {
+                return out;
+            }
+        } catch (IOException e) {
+            // Sin git en el PATH: se usa la variable de entorno.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.getenv("GIT_COMMIT");
+    }
+
+    private static String hostName() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null) host = System.getenv("COMPUTERNAME");
+        if (host != null) return host;
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
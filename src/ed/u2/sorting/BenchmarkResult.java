@@ -1,5 +1,8 @@
 package ed.u2.sorting;
 
+import java.util.Locale;
+import java.util.StringJoiner;
+
 /**
  * Resultado completo del benchmarking de un algoritmo de ordenación.
  *
@@ -9,20 +12,168 @@ package ed.u2.sorting;
  * @param size Tamaño del arreglo procesado.
  * @param comparisons Total de comparaciones realizadas.
  * @param swaps Total de intercambios realizados.
- * @param timeNano Tiempo de ejecución en nanosegundos (mediana de R corridas).
+ * @param moves Total de movimientos de elementos (escrituras en el array; un swap cuenta como 2).
+ * @param keyExtractions Total de llamadas al extractor de clave.
+ * @param timeNano Tiempo representativo en nanosegundos (mediana de las corridas medidas).
+ * @param threads Número de hilos usados por el algoritmo (1 si es secuencial).
+ * @param timing Todas las muestras de tiempo y sus estadísticas (percentiles, desviación, IC 95%, atípicos).
+ * @param allocation Memoria asignada por corrida y actividad del GC (AllocationStats.UNKNOWN si no se midió).
  */
 public record BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, long comparisons, long swaps,
-        long timeNano) {
+        long moves, long keyExtractions, long timeNano, int threads, TimingStats timing, AllocationStats allocation) {
+
+    // Versión del esquema de toCsvRow() / toJson(). Se incrementa cada vez que cambian las columnas.
+    public static final int SCHEMA_VERSION = 3;
+
+    // Número de columnas de cada versión del esquema CSV (la 1 no tenía estadísticas de tiempo, la 2 no tenía memoria/GC).
+    private static final int V1_COLUMNS = 10;
+    private static final int V2_COLUMNS = 20;
+    private static final int V3_COLUMNS = 24;
+
+    // Encabezado de las filas generadas por toCsvRow().
+    public static final String CSV_HEADER = "Algorithm;Dataset;DatasetType;Size;Comparisons;Swaps;Moves;KeyExtractions;Time_ns;Threads;"
+            + "Min_ns;P90_ns;P99_ns;Max_ns;Mean_ns;StdDev_ns;CI95Low_ns;CI95High_ns;Outliers;"
+            + "AllocBytes;MaxAllocBytes;GcCount;GcTime_ms;Samples_ns";
+
+    public BenchmarkResult {
+        if (timing == null || allocation == null) {
+            throw new IllegalArgumentException("El resultado necesita sus estadísticas de tiempo y de memoria.");
+        }
+    }
+
+    // Resultado completo medido por runBenchmark: métricas, muestras de tiempo y memoria/GC.
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, SortMetrics metrics,
+            TimingStats timing, AllocationStats allocation, int threads) {
+        this(algorithmName, datasetName, datasetType, size, metrics.comparisons(), metrics.swaps(), metrics.moves(),
+                metrics.keyExtractions(), timing.p50(), threads, timing, allocation);
+    }
+
+    // Resultado a partir de las métricas de una corrida instrumentada y de todas las muestras de tiempo.
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, SortMetrics metrics,
+            TimingStats timing, int threads) {
+        this(algorithmName, datasetName, datasetType, size, metrics, timing, AllocationStats.UNKNOWN, threads);
+    }
+
+    // Resultado sin medición de memoria.
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, long comparisons, long swaps,
+            long moves, long keyExtractions, long timeNano, int threads, TimingStats timing) {
+        this(algorithmName, datasetName, datasetType, size, comparisons, swaps, moves, keyExtractions, timeNano, threads, timing,
+                AllocationStats.UNKNOWN);
+    }
+
+    // Resultado a partir de las métricas de una corrida instrumentada y de un único tiempo.
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, SortMetrics metrics,
+            long timeNano, int threads) {
+        this(algorithmName, datasetName, datasetType, size, metrics, TimingStats.single(timeNano), threads);
+    }
+
+    // Resultado con un único tiempo (sin muestras individuales).
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, long comparisons, long swaps,
+            long moves, long keyExtractions, long timeNano, int threads) {
+        this(algorithmName, datasetName, datasetType, size, comparisons, swaps, moves, keyExtractions, timeNano, threads,
+                TimingStats.single(timeNano));
+    }
+
+    // Resultado con solo comparaciones y swaps (sin movimientos ni extracciones registradas).
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, long comparisons, long swaps,
+            long timeNano, int threads) {
+        this(algorithmName, datasetName, datasetType, size, comparisons, swaps, 0, 0, timeNano, threads);
+    }
+
+    // Resultado de un algoritmo secuencial (1 hilo).
+    public BenchmarkResult(String algorithmName, String datasetName, String datasetType, int size, long comparisons, long swaps,
+            long timeNano) {
+        this(algorithmName, datasetName, datasetType, size, comparisons, swaps, timeNano, 1);
+    }
 
-    //Convierte el resultado a formato CSV.
+    //Convierte el resultado a formato CSV (esquema SCHEMA_VERSION). Las muestras van separadas por comas en la última columna.
     public String toCsvRow() {
-        return String.format("%s;%s;%s;%d;%d;%d;%d", algorithmName, datasetName, datasetType, size, comparisons, swaps, timeNano);
+        return String.format(Locale.ROOT, "%s;%s;%s;%d;%d;%d;%d;%d;%d;%d;%d;%d;%d;%d;%.1f;%.1f;%.1f;%.1f;%d;%d;%d;%d;%d;%s",
+                algorithmName, datasetName, datasetType, size, comparisons, swaps, moves, keyExtractions, timeNano, threads,
+                timing.min(), timing.p90(), timing.p99(), timing.max(), timing.mean(), timing.stdDev(), timing.ci95Low(),
+                timing.ci95High(), timing.outliers(), allocation.allocatedBytes(), allocation.maxAllocatedBytes(),
+                allocation.gcCount(), allocation.gcTimeMillis(), joinSamples(","));
+    }
+
+    /**
+     * Reconstruye un resultado a partir de una fila generada por toCsvRow() (p. ej., la exportación de JMH).
+     * Acepta filas del esquema actual y de los anteriores: en el 1 el tiempo se toma como una sola muestra y en
+     * el 1 y el 2 la memoria queda como AllocationStats.UNKNOWN. Las estadísticas se recalculan a partir de las muestras.
+     *
+     * @param row Fila CSV separada por ';'.
+     * @return El resultado reconstruido.
+     */
+    public static BenchmarkResult fromCsvRow(String row) {
+        String[] v = row.split(";", -1);
+        if (v.length != V1_COLUMNS && v.length != V2_COLUMNS && v.length != V3_COLUMNS) {
+            throw new IllegalArgumentException("Fila CSV inválida: " + row);
+        }
+
+        long timeNano = Long.parseLong(v[8]);
+        TimingStats timing = TimingStats.single(timeNano);
+        AllocationStats allocation = AllocationStats.UNKNOWN;
+        if (v.length > V1_COLUMNS) {
+            String[] parts = v[v.length - 1].split(",");
+            long[] samples = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) samples[i] = Long.parseLong(parts[i].trim());
+            timing = TimingStats.of(samples);
+        }
+        if (v.length == V3_COLUMNS) {
+            allocation = new AllocationStats(Long.parseLong(v[19]), Long.parseLong(v[20]), Long.parseLong(v[21]),
+                    Long.parseLong(v[22]));
+        }
+
+        return new BenchmarkResult(v[0], v[1], v[2], Integer.parseInt(v[3]), Long.parseLong(v[4]), Long.parseLong(v[5]),
+                Long.parseLong(v[6]), Long.parseLong(v[7]), timeNano, Integer.parseInt(v[9]), timing, allocation);
+    }
+
+    // Convierte el resultado a un objeto JSON con las mismas columnas que toCsvRow() y las muestras como array.
+    public String toJson() {
+        return String.format(Locale.ROOT, "{\"algorithm\":%s,\"dataset\":%s,\"datasetType\":%s,\"size\":%d,"
+                        + "\"comparisons\":%d,\"swaps\":%d,\"moves\":%d,\"keyExtractions\":%d,\"timeNs\":%d,\"threads\":%d,"
+                        + "\"timing\":{\"count\":%d,\"minNs\":%d,\"p50Ns\":%d,\"p90Ns\":%d,\"p99Ns\":%d,\"maxNs\":%d,"
+                        + "\"meanNs\":%.1f,\"stdDevNs\":%.1f,\"ci95LowNs\":%.1f,\"ci95HighNs\":%.1f,\"outliers\":%d,"
+                        + "\"samplesNs\":[%s]},"
+                        + "\"allocation\":{\"allocatedBytes\":%d,\"maxAllocatedBytes\":%d,\"gcCount\":%d,\"gcTimeMs\":%d}}",
+                jsonString(algorithmName), jsonString(datasetName), jsonString(datasetType), size, comparisons, swaps, moves,
+                keyExtractions, timeNano, threads, timing.count(), timing.min(), timing.p50(), timing.p90(), timing.p99(),
+                timing.max(), timing.mean(), timing.stdDev(), timing.ci95Low(), timing.ci95High(), timing.outliers(),
+                joinSamples(","), allocation.allocatedBytes(), allocation.maxAllocatedBytes(), allocation.gcCount(),
+                allocation.gcTimeMillis());
+    }
+
+    private String joinSamples(String separator) {
+        StringJoiner j = new StringJoiner(separator);
+        for (long s : timing.samples()) j.add(Long.toString(s));
+        return j.toString();
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
     }
 
     //Representación en formato tabla para consola.
     @Override
     public String toString() {
-        return "%s | %s | %s | N=%d | comp=%d | swaps=%d | time=%dns".formatted(algorithmName, datasetName, datasetType, size,
-                comparisons, swaps, timeNano);
+        return ("%s | %s | %s | N=%d | comp=%d | swaps=%d | moves=%d | keys=%d | time=%dns | p90=%dns | p99=%dns "
+                + "| sd=%.0fns | ci95=[%.0f, %.0f]ns | outliers=%d/%d | alloc=%dB | gc=%d (%dms) | threads=%d").formatted(
+                algorithmName, datasetName, datasetType, size, comparisons, swaps, moves, keyExtractions, timeNano,
+                timing.p90(), timing.p99(), timing.stdDev(), timing.ci95Low(), timing.ci95High(), timing.outliers(),
+                timing.count(), allocation.allocatedBytes(), allocation.gcCount(), allocation.gcTimeMillis(), threads);
     }
 }
@@ -6,6 +6,11 @@ public class BubbleSort {
 
     private BubbleSort() {}
 
+    // Algoritmo listo para el benchmark: cronometra sortUncounted y obtiene las métricas con sort.
+    public static <T> SortingAlgorithm<T> algorithm() {
+        return SortingAlgorithm.stable(SortingAlgorithm.probed(BubbleSort::sort, BubbleSort::sortUncounted));
+    }
+
     /**
      * Ordena un array genérico 'a' usando el algoritmo Bubble Sort y extrayendo
      * la clave de comparación con 'keyExtractor'.
@@ -16,13 +21,27 @@ public class BubbleSort {
      * @return Un objeto SortMetrics que contiene el número total de comparaciones y swaps.
      */
     public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
-        // Retorna métricas cero si el array es nulo o tiene menos de 2 elementos.
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada: reporta cada comparación, swap y extracción de clave al gancho 'probe', y el fin de
+     * cada pasada. Si el gancho pide detenerse, los mayores ya colocados quedan al final del array.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        // No hay nada que ordenar si el array es nulo o tiene menos de 2 elementos.
         if (a == null || a.length < 2) {
-            return new SortMetrics(0, 0);
+            return;
         }
 
-        long comparisons = 0;
-        long swaps = 0;
         int n = a.length;
 
         // Bucle principal para las pasadas. En cada pasada se coloca el elemento más grande al final.
@@ -32,25 +51,57 @@ public class BubbleSort {
             // Bucle interno para comparar e intercambiar elementos vecinos en la parte no ordenada.
             for (int j = 0; j < n - 1 - i; j++) {
                 // Se extrae la clave de comparación de los elementos vecinos.
-                Comparable left = keyExtractor.extract(a[j]);
-                Comparable right = keyExtractor.extract(a[j + 1]);
-                comparisons++;
+                Comparable<Object> left = (Comparable<Object>) keyExtractor.extract(a[j]);
+                Comparable<Object> right = (Comparable<Object>) keyExtractor.extract(a[j + 1]);
+                probe.keyExtractions(2);
+                probe.comparisons(1);
 
                 // Compara las claves para determinar si se necesita un intercambio.
                 if (left.compareTo(right) > 0) {
                     T tmp = a[j];
                     a[j] = a[j + 1];
                     a[j + 1] = tmp;
-                    swaps++;
+                    probe.swaps(1);
+                    probe.moves(2);
                     swapped = true;
                 }
             }
 
             // Si no hubo swaps en una pasada, el array está ordenado y se detiene el algoritmo.
             if (!swapped) break;
+
+            // Entre pasadas el array no tiene elementos a medio mover: se puede detener aquí.
+            if (!probe.pass(i + 1, n - 1)) return;
+        }
+    }
+
+    /**
+     * Camino rápido sin métricas: mismo algoritmo sin ningún contador, para cronometrar sin distorsión.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null || a.length < 2) {
+            return;
         }
 
-        // Retorna las métricas de desempeño que tuvo el algoritmo.
-        return new SortMetrics(comparisons, swaps);
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            boolean swapped = false;
+            for (int j = 0; j < n - 1 - i; j++) {
+                Comparable<Object> left = (Comparable<Object>) keyExtractor.extract(a[j]);
+                Comparable<Object> right = (Comparable<Object>) keyExtractor.extract(a[j + 1]);
+                if (left.compareTo(right) > 0) {
+                    T tmp = a[j];
+                    a[j] = a[j + 1];
+                    a[j + 1] = tmp;
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
     }
 }
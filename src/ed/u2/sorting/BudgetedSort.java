@@ -0,0 +1,150 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Ejecuta cualquier SortingAlgorithm con un presupuesto de tiempo y cancelación cooperativa, para que un hilo que
+ * atiende pedidos no quede bloqueado horas en un BubbleSort o SelectionSort de un millón de elementos.
+ *
+ * El algoritmo corre por SortingAlgorithm.sortProbed con un gancho que, además de contar las métricas, revisa el
+ * plazo, el pedido de cancelación y la interrupción del hilo al final de las pasadas externas (SortProbe.pass),
+ * cada cierta cantidad de pasadas para que el costo de System.nanoTime() no se note. Al detenerse, el array queda
+ * como una permutación de la entrada (los algoritmos solo se detienen entre pasadas) y se devuelven las métricas
+ * acumuladas hasta ese punto.
+ *
+ * Los algoritmos que no reportan pasadas (IntroSort, NaturalMergeSort, RadixSort...) son O(n log n) o lineales: el
+ * plazo solo se revisa antes de empezar y, si arrancan, terminan.
+ */
+public final class BudgetedSort {
+
+    // Elementos recorridos (aprox. pasadas × tamaño) entre dos revisiones del reloj y de la cancelación.
+    private static final long CHECK_WORK = 1 << 16;
+
+    private BudgetedSort() {}
+
+    public enum Status { COMPLETED, TIMED_OUT, CANCELLED }
+
+    /**
+     * Resultado de una ordenación con presupuesto.
+     *
+     * @param status COMPLETED si el array quedó ordenado; TIMED_OUT o CANCELLED si se detuvo antes.
+     * @param metrics Comparaciones, swaps, movimientos y extracciones hasta el final o hasta detenerse.
+     * @param progress Fracción de pasadas externas terminadas (1 si se completó).
+     * @param elapsedNano Tiempo transcurrido.
+     */
+    public record Outcome(Status status, SortMetrics metrics, double progress, long elapsedNano) {
+
+        public boolean completed() {
+            return status == Status.COMPLETED;
+        }
+    }
+
+    /**
+     * Ordena 'a' con un plazo máximo, sin cancelación externa ni reporte de progreso.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param algorithm Algoritmo a ejecutar.
+     * @param budget Tiempo máximo.
+     * @return El resultado de la ejecución.
+     */
+    public static <T> Outcome sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                   SortingAlgorithm<T> algorithm, Duration budget) {
+        return sort(a, keyExtractor, algorithm, budget, () -> false, p -> {});
+    }
+
+    /**
+     * Ordena 'a' hasta terminar, agotar el plazo o recibir un pedido de cancelación. También se detiene si se
+     * interrumpe el hilo que ordena (sin limpiar el estado de interrupción).
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param algorithm Algoritmo a ejecutar.
+     * @param budget Tiempo máximo.
+     * @param cancelled Devuelve true cuando se pide cancelar (p. ej., AtomicBoolean::get); debe ser barato.
+     * @param progress Recibe la fracción de pasadas terminadas en cada revisión.
+     * @return El resultado de la ejecución.
+     */
+    public static <T> Outcome sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                   SortingAlgorithm<T> algorithm, Duration budget, BooleanSupplier cancelled,
+                                   DoubleConsumer progress) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("El presupuesto no puede ser negativo: " + budget);
+        }
+        BudgetProbe probe = new BudgetProbe(budgetNanos(budget), cancelled, progress);
+
+        Status status = probe.check();
+        if (status == null) {
+            algorithm.sortProbed(a, keyExtractor, probe);
+            status = probe.stopped != null ? probe.stopped : Status.COMPLETED;
+        }
+
+        double done = status == Status.COMPLETED ? 1 : probe.progress();
+        if (status == Status.COMPLETED) progress.accept(1);
+        return new Outcome(status, probe.counts.toMetrics(), done, System.nanoTime() - probe.start);
+    }
+
+    // Duration.toNanos() desborda por encima de ~292 años: se satura a Long.MAX_VALUE.
+    private static long budgetNanos(Duration budget) {
+        try {
+            return budget.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // Cuenta las métricas y decide en SortProbe.pass si el algoritmo sigue.
+    private static final class BudgetProbe implements SortProbe {
+
+        private final CountingProbe counts = new CountingProbe();
+        private final long start = System.nanoTime();
+        private final long budgetNanos;
+        private final BooleanSupplier cancelled;
+        private final DoubleConsumer progress;
+
+        private long completed;
+        private long total;
+        private Status stopped;
+
+        BudgetProbe(long budgetNanos, BooleanSupplier cancelled, DoubleConsumer progress) {
+            this.budgetNanos = budgetNanos;
+            this.cancelled = cancelled;
+            this.progress = progress;
+        }
+
+        @Override public void comparisons(long n) { counts.comparisons(n); }
+        @Override public void swaps(long n) { counts.swaps(n); }
+        @Override public void moves(long n) { counts.moves(n); }
+        @Override public void keyExtractions(long n) { counts.keyExtractions(n); }
+
+        @Override
+        public boolean pass(long completed, long total) {
+            this.completed = completed;
+            this.total = total;
+            // Cada pasada recorre hasta 'total' elementos: se revisa cada CHECK_WORK / total pasadas.
+            if (completed % Math.max(1, CHECK_WORK / Math.max(1, total)) != 0) {
+                return true;
+            }
+            progress.accept(progress());
+            stopped = check();
+            return stopped == null;
+        }
+
+        // Motivo para detenerse, o null si se puede seguir.
+        Status check() {
+            if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted()) return Status.CANCELLED;
+            if (System.nanoTime() - start >= budgetNanos) return Status.TIMED_OUT;
+            return null;
+        }
+
+        double progress() {
+            return total == 0 ? 0 : (double) completed / total;
+        }
+    }
+}
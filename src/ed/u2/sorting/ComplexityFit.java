@@ -0,0 +1,80 @@
+package ed.u2.sorting;
+
+/**
+ * Ajuste empírico y ≈ c·N^b por mínimos cuadrados sobre log(y) = log(c) + b·log(N).
+ * El exponente b aproxima el orden de crecimiento: ~1 lineal, ~1.1-1.2 para N·log N en el rango usual, ~2 cuadrático.
+ * Los puntos con y <= 0 (p. ej., 0 comparaciones en RadixSort) no entran en el ajuste.
+ *
+ * @param exponent Exponente b.
+ * @param constant Constante c (en las unidades de y).
+ * @param r2 Coeficiente de determinación del ajuste en escala log-log (1 = recta perfecta).
+ * @param points Puntos usados en el ajuste.
+ */
+public record ComplexityFit(double exponent, double constant, double r2, int points) {
+
+    // Ajuste sin puntos suficientes (se necesitan al menos dos N distintos con y > 0).
+    public static final ComplexityFit NONE = new ComplexityFit(Double.NaN, Double.NaN, Double.NaN, 0);
+
+    /**
+     * Ajusta y ≈ c·N^b.
+     *
+     * @param n Tamaños.
+     * @param y Valores medidos para cada tamaño (tiempo, comparaciones, movimientos...).
+     * @return El ajuste, o NONE si hay menos de dos puntos válidos.
+     */
+    public static ComplexityFit of(long[] n, double[] y) {
+        if (n.length != y.length) {
+            throw new IllegalArgumentException("Se necesita un valor por cada tamaño.");
+        }
+        int k = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < n.length; i++) {
+            if (n[i] <= 0 || !(y[i] > 0)) continue;
+            double lx = Math.log(n[i]);
+            double ly = Math.log(y[i]);
+            sx += lx;
+            sy += ly;
+            sxx += lx * lx;
+            sxy += lx * ly;
+            k++;
+        }
+        double den = k * sxx - sx * sx;
+        if (k < 2 || den == 0) return NONE;
+
+        double b = (k * sxy - sx * sy) / den;
+        double a = (sy - b * sx) / k;
+
+        // R² sobre los mismos puntos en escala log.
+        double mean = sy / k;
+        double ssTot = 0, ssRes = 0;
+        for (int i = 0; i < n.length; i++) {
+            if (n[i] <= 0 || !(y[i] > 0)) continue;
+            double ly = Math.log(y[i]);
+            double fit = a + b * Math.log(n[i]);
+            ssTot += (ly - mean) * (ly - mean);
+            ssRes += (ly - fit) * (ly - fit);
+        }
+        double r2 = ssTot == 0 ? 1 : 1 - ssRes / ssTot;
+        return new ComplexityFit(b, Math.exp(a), r2, k);
+    }
+
+    public boolean valid() {
+        return points >= 2;
+    }
+
+    // Valor que predice el ajuste para un tamaño N.
+    public double predict(double n) {
+        return constant * Math.pow(n, exponent);
+    }
+
+    /**
+     * Tamaño en el que este ajuste y 'other' predicen el mismo valor: c1·N^b1 = c2·N^b2.
+     *
+     * @param other El otro ajuste.
+     * @return N del cruce, o NaN si alguno no es válido o tienen el mismo exponente.
+     */
+    public double crossover(ComplexityFit other) {
+        if (!valid() || !other.valid() || exponent == other.exponent) return Double.NaN;
+        return Math.exp((Math.log(other.constant) - Math.log(constant)) / (exponent - other.exponent));
+    }
+}
@@ -0,0 +1,42 @@
+package ed.u2.sorting;
+
+// Implementación de SortProbe que acumula los contadores en campos long (no es thread-safe).
+public final class CountingProbe implements SortProbe {
+
+    private long comparisons;
+    private long swaps;
+    private long moves;
+    private long keyExtractions;
+
+    @Override public void comparisons(long n) { comparisons += n; }
+    @Override public void swaps(long n) { swaps += n; }
+    @Override public void moves(long n) { moves += n; }
+    @Override public void keyExtractions(long n) { keyExtractions += n; }
+
+    // Reenvía los totales a otro gancho (p. ej., para agregar los contadores de varias tareas).
+    public void drainTo(SortProbe target) {
+        target.comparisons(comparisons);
+        target.swaps(swaps);
+        target.moves(moves);
+        target.keyExtractions(keyExtractions);
+    }
+
+    // Suma las métricas de una corrida ya terminada (p. ej., la de cada tramo de ExternalMergeSort).
+    public void add(SortMetrics m) {
+        comparisons += m.comparisons();
+        swaps += m.swaps();
+        moves += m.moves();
+        keyExtractions += m.keyExtractions();
+    }
+
+    public SortMetrics toMetrics() {
+        return new SortMetrics(comparisons, swaps, moves, keyExtractions);
+    }
+
+    public void reset() {
+        comparisons = 0;
+        swaps = 0;
+        moves = 0;
+        keyExtractions = 0;
+    }
+}
@@ -0,0 +1,218 @@
+package ed.u2.sorting;
+
+import ed.u2.datasets.CsvDataLoader;
+import ed.u2.datasets.CsvFormat;
+import ed.u2.utils.KeyExtractor;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ordenamiento externo para datasets que no caben en memoria.
+ * Fase 1: lee el CSV en lotes de 'runSize' registros con CsvDataLoader.readBatches, ordena cada lote
+ * con cualquier SortingAlgorithm y lo vuelca a un archivo temporal (tramo ordenado).
+ * Fase 2: mezcla los tramos con un min-heap de a lo sumo 'fanIn' cursores; si hay más tramos que 'fanIn',
+ * hace pasadas intermedias hasta que la última mezcla escribe el archivo de salida.
+ * Con un algoritmo estable el resultado también es estable (los empates se resuelven por orden de tramo).
+ */
+public class ExternalMergeSort {
+
+    public static final int DEFAULT_RUN_SIZE = 1_000_000;
+    public static final int DEFAULT_FAN_IN = 64;
+    public static final int DEFAULT_IO_BUFFER_BYTES = 1 << 16;
+
+    private final int runSize;
+    private final int fanIn;
+    private final int ioBufferBytes;
+    private final Path tempDir;
+
+    // Configuración por defecto, con los temporales en el directorio temporal del sistema.
+    public ExternalMergeSort() {
+        this(DEFAULT_RUN_SIZE, DEFAULT_FAN_IN, DEFAULT_IO_BUFFER_BYTES, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param runSize Registros por tramo (cota de memoria de la fase 1).
+     * @param fanIn Número máximo de tramos mezclados a la vez (>= 2).
+     * @param ioBufferBytes Tamaño del buffer de cada lector/escritor de tramos.
+     * @param tempDir Carpeta donde se crean los tramos temporales.
+     */
+    public ExternalMergeSort(int runSize, int fanIn, int ioBufferBytes, Path tempDir) {
+        if (runSize < 1) throw new IllegalArgumentException("El tamaño de tramo debe ser al menos 1.");
+        if (fanIn < 2) throw new IllegalArgumentException("El fan-in debe ser al menos 2.");
+        if (ioBufferBytes < 1) throw new IllegalArgumentException("El buffer de E/S debe ser positivo.");
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.ioBufferBytes = ioBufferBytes;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Ordena el CSV 'input' y escribe el resultado (con encabezado) en 'output'.
+     *
+     * @param <T> Tipo de los registros.
+     * @param input Ruta del CSV de entrada.
+     * @param output Ruta del CSV de salida.
+     * @param format Formato del modelo (p. ej., CsvFormat.APPOINTMENTS).
+     * @param keyExtractor Función para obtener la clave comparable de cada registro.
+     * @param algorithm Algoritmo usado para ordenar cada tramo en memoria.
+     * @return Un ExternalSortReport con bytes, tramos, pasadas y tiempos por fase.
+     * @throws IOException Si falla la lectura o escritura de algún archivo.
+     */
+    public <T> ExternalSortReport sort(String input, String output, CsvFormat<T> format,
+                                       KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                       SortingAlgorithm<T> algorithm) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        // Todos los temporales creados (tramos y mezclas intermedias): se borran al final aunque falle una pasada.
+        List<Path> temps = new ArrayList<>();
+        CountingProbe runProbe = new CountingProbe();
+        long bytesRead = Files.size(Path.of(input));
+        long bytesWritten = 0;
+
+        try {
+            // FASE 1: tramos ordenados.
+            long start = System.nanoTime();
+            long records = CsvDataLoader.readBatches(input, format, runSize, batch -> {
+                runProbe.add(algorithm.sort(batch, keyExtractor));
+
+                Path run = Files.createTempFile(tempDir, "run-", ".csv");
+                temps.add(run);
+                runs.add(run);
+                try (BufferedWriter w = writer(run)) {
+                    for (T t : batch) {
+                        w.write(format.formatter().apply(t));
+                        w.newLine();
+                    }
+                }
+            });
+            for (Path run : runs) bytesWritten += Files.size(run);
+            long runPhase = System.nanoTime() - start;
+            int runCount = runs.size();
+
+            // FASE 2: mezclas intermedias hasta que queden a lo sumo fanIn tramos.
+            start = System.nanoTime();
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                List<Path> next = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path merged = Files.createTempFile(tempDir, "merge-", ".csv");
+                    temps.add(merged);
+                    next.add(merged);
+                    bytesRead += sizeOf(group);
+                    merge(group, merged, null, format, keyExtractor);
+                    bytesWritten += Files.size(merged);
+                    deleteAll(group);
+                }
+                runs.clear();
+                runs.addAll(next);
+                passes++;
+            }
+
+            // Mezcla final hacia el archivo de salida (con encabezado).
+            Path out = Path.of(output);
+            bytesRead += sizeOf(runs);
+            merge(runs, out, format.header(), format, keyExtractor);
+            bytesWritten += Files.size(out);
+            passes++;
+            long mergePhase = System.nanoTime() - start;
+
+            return new ExternalSortReport(records, runCount, passes, bytesRead, bytesWritten, runPhase, mergePhase,
+                    runProbe.toMetrics());
+        } finally {
+            deleteQuietly(temps);
+        }
+    }
+
+    // Cursor sobre un tramo: registro actual y su clave (extraída una sola vez).
+    private static final class RunCursor<T> {
+        private final BufferedReader reader;
+        private final int order;
+        private T current;
+        private Comparable<Object> key;
+
+        RunCursor(BufferedReader reader, int order) {
+            this.reader = reader;
+            this.order = order;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean advance(CsvFormat<T> format, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) throws IOException {
+            String line = reader.readLine();
+            if (line == null) return false;
+            current = format.parser().apply(line.split(";"));
+            key = (Comparable<Object>) keyExtractor.extract(current);
+            return true;
+        }
+    }
+
+    // Mezcla k-way con un min-heap; a igual clave sale primero el tramo anterior (estabilidad).
+    private <T> void merge(List<Path> inputs, Path output, String header, CsvFormat<T> format,
+                           KeyExtractor<T, ? extends Comparable<?>> keyExtractor) throws IOException {
+        PriorityQueue<RunCursor<T>> heap = new PriorityQueue<>(Math.max(1, inputs.size()), (x, y) -> {
+            int c = x.key.compareTo(y.key);
+            return c != 0 ? c : Integer.compare(x.order, y.order);
+        });
+        List<BufferedReader> readers = new ArrayList<>();
+
+        try (BufferedWriter w = writer(output)) {
+            if (header != null) {
+                w.write(header);
+                w.newLine();
+            }
+            for (int i = 0; i < inputs.size(); i++) {
+                BufferedReader r = reader(inputs.get(i));
+                readers.add(r);
+                RunCursor<T> cursor = new RunCursor<>(r, i);
+                if (cursor.advance(format, keyExtractor)) heap.add(cursor);
+            }
+
+            while (!heap.isEmpty()) {
+                RunCursor<T> min = heap.poll();
+                w.write(format.formatter().apply(min.current));
+                w.newLine();
+                if (min.advance(format, keyExtractor)) heap.add(min);
+            }
+        } finally {
+            for (BufferedReader r : readers) r.close();
+        }
+    }
+
+    private BufferedReader reader(Path path) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), ioBufferBytes);
+    }
+
+    private BufferedWriter writer(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), ioBufferBytes);
+    }
+
+    private static long sizeOf(List<Path> paths) throws IOException {
+        long total = 0;
+        for (Path p : paths) total += Files.size(p);
+        return total;
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path p : paths) Files.deleteIfExists(p);
+    }
+
+    // Limpieza final: intenta borrar todos aunque alguno falle, sin ocultar la excepción que se esté propagando.
+    private static void deleteQuietly(List<Path> paths) {
+        for (Path p : paths) {
+            try {
+                Files.deleteIfExists(p);
+            } catch (IOException ignored) {
+                // El temporal queda en tempDir; no impide borrar los demás.
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ed.u2.sorting;
+
+/**
+ * Resumen de una ejecución de ExternalMergeSort.
+ *
+ * @param records Total de registros ordenados.
+ * @param runCount Número de tramos ordenados volcados a disco en la fase 1.
+ * @param mergePasses Número de pasadas de mezcla (1 si todos los tramos caben en una sola mezcla).
+ * @param bytesRead Bytes leídos de disco (entrada + tramos temporales).
+ * @param bytesWritten Bytes escritos en disco (tramos temporales + salida).
+ * @param runPhaseNano Tiempo de la fase de lectura, ordenación y volcado de tramos.
+ * @param mergePhaseNano Tiempo de la fase de mezcla k-way.
+ * @param runMetrics Comparaciones, swaps, movimientos y extracciones acumulados al ordenar los tramos en memoria.
+ */
+public record ExternalSortReport(long records, int runCount, int mergePasses, long bytesRead, long bytesWritten,
+        long runPhaseNano, long mergePhaseNano, SortMetrics runMetrics) {
+
+    //Representación en formato tabla para consola.
+    @Override
+    public String toString() {
+        return "records=%d | runs=%d | mergePasses=%d | read=%dB | written=%dB | runPhase=%dns | mergePhase=%dns | comp=%d | swaps=%d | moves=%d"
+                .formatted(records, runCount, mergePasses, bytesRead, bytesWritten, runPhaseNano, mergePhaseNano,
+                        runMetrics.comparisons(), runMetrics.swaps(), runMetrics.moves());
+    }
+}
@@ -6,48 +6,111 @@ public class InsertionSort {
 
     private InsertionSort() {}
 
+    // Algoritmo listo para el benchmark: cronometra sortUncounted y obtiene las métricas con sort.
+    public static <T> SortingAlgorithm<T> algorithm() {
+        return SortingAlgorithm.stable(SortingAlgorithm.probed(InsertionSort::sort, InsertionSort::sortUncounted));
+    }
+
     /**
      * Ordena un array genérico 'a' usando el algoritmo Insertion Sort, extrayendo
      * la clave de comparación con 'keyExtractor'.
+     * Insertion Sort no intercambia elementos: desplaza. Por eso reporta 0 swaps y cuenta los
+     * desplazamientos y la colocación final como movimientos.
      *
      * @param <T> El tipo de elementos en el array.
      * @param a El array a ordenar in-place.
      * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
-     * @return Un objeto SortMetrics que contiene el número total de comparaciones y swaps.
+     * @return Un objeto SortMetrics que contiene el número total de comparaciones y movimientos.
      */
     public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
-
-        // Retorna métricas cero si el array es nulo o tiene menos de 2 elementos.
-        if (a == null || a.length < 2) {
+        // Retorna métricas cero si el array es nulo.
+        if (a == null) {
             return new SortMetrics(0, 0);
         }
+        return sort(a, 0, a.length, keyExtractor);
+    }
+
+    /**
+     * Ordena solo el rango a[from, to) con Insertion Sort. Lo usan otros algoritmos
+     * (p. ej., IntroSort) para terminar particiones pequeñas.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array que contiene el rango a ordenar.
+     * @param from Índice inicial (inclusive).
+     * @param to Índice final (exclusive).
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics que contiene el número total de comparaciones y movimientos.
+     */
+    public static <T> SortMetrics sort(T[] a, int from, int to, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, from, to, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada sobre el rango a[from, to): reporta cada comparación, movimiento y extracción de clave.
+     * No reporta pasadas: quien la usa para terminar particiones (IntroSort) no puede detenerse a mitad.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array que contiene el rango a ordenar.
+     * @param from Índice inicial (inclusive).
+     * @param to Índice final (exclusive).
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    public static <T> void sort(T[] a, int from, int to, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                SortProbe probe) {
+        sort(a, from, to, keyExtractor, probe, false);
+    }
+
+    /**
+     * Versión instrumentada sobre todo el array: además reporta cada elemento insertado como una pasada.
+     * Si el gancho pide detenerse, el prefijo ya recorrido queda ordenado y el resto sin tocar.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    public static <T> void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        if (a == null) {
+            return;
+        }
+        sort(a, 0, a.length, keyExtractor, probe, true);
+    }
 
-        long comparisons = 0;
-        long swaps = 0;
+    @SuppressWarnings("unchecked")
+    private static <T> void sort(T[] a, int from, int to, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                 SortProbe probe, boolean passes) {
 
-        int n = a.length;
+        // No hay nada que ordenar si el rango tiene menos de 2 elementos.
+        if (a == null || to - from < 2) {
+            return;
+        }
 
-        // Bucle principal: recorre el array desde el segundo elemento (i=1), considerando que la sublista a[0...i-1] ya está ordenada.
-        for (int i = 1; i < n; i++) {
+        // Bucle principal: recorre el rango desde el segundo elemento (i=from+1), considerando que la sublista a[from...i-1] ya está ordenada.
+        for (int i = from + 1; i < to; i++) {
             // Guarda el elemento actual a insertar en la parte ordenada.
             T keyElem = a[i];
             // Extrae la clave de comparación para el elemento actual.
             Comparable<Object> keyVal = (Comparable<Object>) keyExtractor.extract(keyElem);
+            probe.keyExtractions(1);
 
             int j = i - 1;
 
             // compara keyVal con elementos previos en la sublista ordenada y desplaza los mayores una posición a la derecha.
-            while (j >= 0) {
-                comparisons++;
+            while (j >= from) {
+                probe.comparisons(1);
 
                 // Extrae la clave del elemento en la posición j para la comparación.
                 Comparable<Object> current =
                         (Comparable<Object>) keyExtractor.extract(a[j]);
+                probe.keyExtractions(1);
 
                 // Si el elemento actual (a[j]) es mayor que keyVal, se desplaza a la derecha.
                 if (current.compareTo(keyVal) > 0) {
                     a[j + 1] = a[j];
-                    swaps++;
+                    probe.moves(1);
                     j--; // Se mueve a la posición anterior para seguir comparando.
                 } else {
                     // Si el elemento actual es menor o igual a keyVal, entonces ha encontrado su posición.
@@ -55,11 +118,59 @@ public class InsertionSort {
                 }
             }
 
-            // Coloca el elemento keyElem en su posición final dentro de la sublista ordenada.
-            a[j + 1] = keyElem;
+            // Coloca el elemento keyElem en su posición final dentro de la sublista ordenada (solo si se movió).
+            if (j + 1 != i) {
+                a[j + 1] = keyElem;
+                probe.moves(1);
+            }
+
+            if (passes && !probe.pass(i - from, to - from - 1)) return;
         }
+    }
 
-        // Retorna las métricas de desempeño que tuvo el algoritmo.
-        return new SortMetrics(comparisons, swaps);
+    /**
+     * Camino rápido sin métricas: mismo algoritmo sin ningún contador, para cronometrar sin distorsión.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     */
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null) {
+            return;
+        }
+        sortUncounted(a, 0, a.length, keyExtractor);
+    }
+
+    /**
+     * Camino sin métricas sobre el rango a[from, to): lo usa IntroSort para terminar particiones sin contar.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array que contiene el rango a ordenar.
+     * @param from Índice inicial (inclusive).
+     * @param to Índice final (exclusive).
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sortUncounted(T[] a, int from, int to, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null || to - from < 2) {
+            return;
+        }
+
+        for (int i = from + 1; i < to; i++) {
+            T keyElem = a[i];
+            Comparable<Object> keyVal = (Comparable<Object>) keyExtractor.extract(keyElem);
+            int j = i - 1;
+            while (j >= from) {
+                Comparable<Object> current = (Comparable<Object>) keyExtractor.extract(a[j]);
+                if (current.compareTo(keyVal) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                } else {
+                    break;
+                }
+            }
+            a[j + 1] = keyElem;
+        }
     }
 }
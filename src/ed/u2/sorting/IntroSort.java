@@ -0,0 +1,241 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+/**
+ * Introsort in-place y NO estable, sin memoria auxiliar.
+ * - Particiona con dos pivotes (dual-pivot quicksort, esquema de Yaroslavskiy).
+ * - Si la muestra de pivotes contiene claves repetidas, cambia a partición de tres vías (Dijkstra),
+ *   que agrupa los iguales y no los vuelve a comparar (ideal para pacientes con solo 3 prioridades).
+ * - Si la recursión supera 2·log2(n) niveles, termina el rango con Heap Sort: peor caso O(n log n).
+ * - Las particiones pequeñas se delegan a InsertionSort.
+ */
+public class IntroSort {
+
+    // Tamaño de partición a partir del cual se usa InsertionSort.
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private IntroSort() {}
+
+    // Algoritmo listo para el benchmark: cronometra sortUncounted y obtiene las métricas con sort.
+    public static <T> SortingAlgorithm<T> algorithm() {
+        return SortingAlgorithm.of(IntroSort::sort, IntroSort::sortUncounted);
+    }
+
+    /**
+     * Ordena un array genérico 'a' usando Introsort, extrayendo
+     * la clave de comparación con 'keyExtractor'.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics que contiene el número total de comparaciones y swaps.
+     */
+    public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada: reporta comparaciones, swaps, movimientos y extracciones de clave al gancho 'probe'.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    public static <T> void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        run(a, keyExtractor, true, probe);
+    }
+
+    // Camino sin métricas: el mismo Sorter sin contar (no llama al gancho), para cronometrar sin distorsión.
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        run(a, keyExtractor, false, SortProbe.NONE);
+    }
+
+    private static <T> void run(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, boolean counted,
+                                SortProbe probe) {
+        // No hay nada que ordenar si el array es nulo o tiene menos de 2 elementos.
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        Sorter<T> sorter = new Sorter<>(a, keyExtractor, counted, probe);
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(a.length));
+        sorter.introSort(0, a.length, depthLimit);
+    }
+
+    // Estado de una ejecución: array, extractor y gancho de métricas (solo se llama si 'counted').
+    private static final class Sorter<T> {
+        private final T[] a;
+        private final KeyExtractor<T, ? extends Comparable<?>> keyExtractor;
+        private final boolean counted;
+        private final SortProbe probe;
+
+        Sorter(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, boolean counted, SortProbe probe) {
+            this.a = a;
+            this.keyExtractor = keyExtractor;
+            this.counted = counted;
+            this.probe = probe;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Comparable<Object> key(T t) {
+            if (counted) probe.keyExtractions(1);
+            return (Comparable<Object>) keyExtractor.extract(t);
+        }
+
+        // Compara la clave de 'x' con una clave ya extraída y cuenta la comparación.
+        private int compare(T x, Comparable<Object> pivotKey) {
+            if (counted) probe.comparisons(1);
+            return key(x).compareTo(pivotKey);
+        }
+
+        private int compare(T x, T y) {
+            return compare(x, key(y));
+        }
+
+        private void swap(int i, int j) {
+            if (i == j) return;
+            T tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+            if (counted) {
+                probe.swaps(1);
+                probe.moves(2);
+            }
+        }
+
+        // Ordena a[lo, hi).
+        void introSort(int lo, int hi, int depth) {
+            int size = hi - lo;
+
+            // Partición pequeña: InsertionSort.
+            if (size <= INSERTION_THRESHOLD) {
+                if (counted) InsertionSort.sort(a, lo, hi, keyExtractor, probe);
+                else InsertionSort.sortUncounted(a, lo, hi, keyExtractor);
+                return;
+            }
+
+            // Recursión demasiado profunda: Heap Sort acota el peor caso.
+            if (depth == 0) {
+                heapSort(lo, hi);
+                return;
+            }
+            depth--;
+
+            // Muestra de 5 posiciones equiespaciadas, ordenadas entre sí.
+            int seventh = size / 7;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSample(e1, e2, e3, e4, e5);
+
+            // Claves repetidas en la muestra: probablemente hay muchos iguales, se usa partición de tres vías.
+            if (compare(a[e1], a[e2]) == 0 || compare(a[e2], a[e3]) == 0
+                    || compare(a[e3], a[e4]) == 0 || compare(a[e4], a[e5]) == 0) {
+                threeWay(lo, hi, depth, e3);
+            } else {
+                dualPivot(lo, hi, depth, e2, e4);
+            }
+        }
+
+        // Ordena las 5 posiciones de la muestra con una red de ordenación fija de 9 comparaciones
+        // (sin arrays auxiliares ni bucles: cada paso compara e intercambia dos posiciones concretas).
+        private void sortSample(int e1, int e2, int e3, int e4, int e5) {
+            compareAndSwap(e1, e2);
+            compareAndSwap(e4, e5);
+            compareAndSwap(e3, e5);
+            compareAndSwap(e3, e4);
+            compareAndSwap(e1, e4);
+            compareAndSwap(e1, e3);
+            compareAndSwap(e2, e5);
+            compareAndSwap(e2, e4);
+            compareAndSwap(e2, e3);
+        }
+
+        // Deja en a[i] el menor de a[i] y a[j] (i < j).
+        private void compareAndSwap(int i, int j) {
+            if (compare(a[i], a[j]) > 0) swap(i, j);
+        }
+
+        // Partición de tres vías (Dijkstra): a[lo, lt) < pivote == a[lt, gt] < a(gt, hi).
+        private void threeWay(int lo, int hi, int depth, int pivotIndex) {
+            Comparable<Object> pivot = key(a[pivotIndex]);
+            int lt = lo;
+            int i = lo;
+            int gt = hi - 1;
+
+            while (i <= gt) {
+                int c = compare(a[i], pivot);
+                if (c < 0) swap(lt++, i++);
+                else if (c > 0) swap(i, gt--);
+                else i++;
+            }
+
+            // Los iguales al pivote ya están en su posición final y no se vuelven a tocar.
+            introSort(lo, lt, depth);
+            introSort(gt + 1, hi, depth);
+        }
+
+        // Partición con dos pivotes p1 < p2: a[lo, less) < p1 <= a[less, great] <= p2 < a(great, hi).
+        private void dualPivot(int lo, int hi, int depth, int pivot1Index, int pivot2Index) {
+            int last = hi - 1;
+
+            // Mueve los pivotes a los extremos.
+            swap(lo, pivot1Index);
+            swap(last, pivot2Index);
+            Comparable<Object> p1 = key(a[lo]);
+            Comparable<Object> p2 = key(a[last]);
+
+            int less = lo + 1;
+            int great = last - 1;
+
+            for (int k = less; k <= great; k++) {
+                if (compare(a[k], p1) < 0) {
+                    swap(k, less++);
+                } else if (compare(a[k], p2) > 0) {
+                    while (k < great && compare(a[great], p2) > 0) great--;
+                    swap(k, great--);
+                    if (compare(a[k], p1) < 0) swap(k, less++);
+                }
+            }
+
+            // Coloca los pivotes en su posición final.
+            less--;
+            great++;
+            swap(lo, less);
+            swap(last, great);
+
+            introSort(lo, less, depth);
+            introSort(less + 1, great, depth);
+            introSort(great + 1, hi, depth);
+        }
+
+        // Heap Sort sobre a[lo, hi) (max-heap con raíz en lo).
+        private void heapSort(int lo, int hi) {
+            int n = hi - lo;
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                siftDown(lo, i, n);
+            }
+            for (int end = n - 1; end > 0; end--) {
+                swap(lo, lo + end);
+                siftDown(lo, 0, end);
+            }
+        }
+
+        private void siftDown(int lo, int i, int n) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) return;
+                if (child + 1 < n && compare(a[lo + child + 1], a[lo + child]) > 0) child++;
+                if (compare(a[lo + child], a[lo + i]) <= 0) return;
+                swap(lo + i, lo + child);
+                i = child;
+            }
+        }
+    }
+}
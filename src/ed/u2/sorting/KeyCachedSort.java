@@ -0,0 +1,103 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+/**
+ * Modo de ejecución "decorate-sort-undecorate" (transformada de Schwartz).
+ * Extrae la clave de cada elemento UNA sola vez antes de ordenar, en lugar de hacerlo en cada comparación.
+ * Esto evita, por ejemplo, que Appointment.getDateTime() cree un LocalDateTime O(n²) veces.
+ */
+public final class KeyCachedSort {
+
+    private KeyCachedSort() {}
+
+    // Par (clave precalculada, elemento original). Se ordenan juntos para que la clave viaje con su elemento.
+    public record Entry<T>(Comparable<?> key, T element) {}
+
+    /**
+     * Envuelve cualquier algoritmo para que trabaje sobre claves precalculadas.
+     * El algoritmo recibido ordena las entradas decoradas usando la clave ya extraída.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param algorithm Algoritmo que ordena las entradas decoradas (p. ej., BubbleSort::sort).
+     * @return Un SortingAlgorithm equivalente que extrae cada clave una sola vez.
+     */
+    public static <T> SortingAlgorithm<T> wrap(SortingAlgorithm<Entry<T>> algorithm) {
+        return new SortingAlgorithm<>() {
+            @Override
+            public SortMetrics sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                return KeyCachedSort.sort(arr, keyExtractor, algorithm);
+            }
+
+            @Override
+            public void sortUncounted(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                KeyCachedSort.sortUncounted(arr, keyExtractor, algorithm);
+            }
+
+            // Conserva el número de hilos del algoritmo envuelto (p. ej., ParallelMergeSort).
+            @Override
+            public int threads() {
+                return algorithm.threads();
+            }
+
+            // Decorar y desdecorar conserva el orden: es estable si el algoritmo envuelto lo es.
+            @Override
+            public boolean stable() {
+                return algorithm.stable();
+            }
+        };
+    }
+
+    /**
+     * Ordena 'a' precalculando las claves, ordenando las entradas y copiando de vuelta los elementos.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param algorithm Algoritmo que ordena las entradas decoradas.
+     * @return Las comparaciones, swaps y movimientos del algoritmo interno más las n escrituras finales;
+     *         las extracciones de clave son exactamente n (las lecturas de Entry::key no cuentan).
+     */
+    public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                       SortingAlgorithm<Entry<T>> algorithm) {
+        if (a == null || a.length < 2) {
+            return new SortMetrics(0, 0);
+        }
+
+        int n = a.length;
+        Entry<T>[] entries = decorate(a, keyExtractor);
+        SortMetrics m = algorithm.sort(entries, Entry::key);
+        undecorate(a, entries);
+
+        return new SortMetrics(m.comparisons(), m.swaps(), m.moves() + n, n);
+    }
+
+    // Igual que sort, pero ordena las entradas con la variante sin conteo del algoritmo interno.
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                         SortingAlgorithm<Entry<T>> algorithm) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        Entry<T>[] entries = decorate(a, keyExtractor);
+        algorithm.sortUncounted(entries, Entry::key);
+        undecorate(a, entries);
+    }
+
+    // 1) DECORAR: una extracción de clave por elemento.
+    private static <T> Entry<T>[] decorate(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        @SuppressWarnings("unchecked")
+        Entry<T>[] entries = (Entry<T>[]) new Entry<?>[a.length];
+        for (int i = 0; i < a.length; i++) {
+            entries[i] = new Entry<>(keyExtractor.extract(a[i]), a[i]);
+        }
+        return entries;
+    }
+
+    // 3) DESDECORAR: copia los elementos en el nuevo orden al array original.
+    private static <T> void undecorate(T[] a, Entry<T>[] entries) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = entries[i].element();
+        }
+    }
+}
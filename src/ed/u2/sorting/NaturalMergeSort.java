@@ -0,0 +1,418 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+/**
+ * Merge Sort natural y adaptativo al estilo TimSort.
+ * Detecta tramos (runs) ya ordenados, invierte in-place los tramos estrictamente descendentes,
+ * extiende los tramos cortos con inserción binaria y los mezcla con "galloping".
+ * Es estable: en datasets casi ordenados o inversos se acerca a O(n); en el peor caso es O(n log n).
+ * Solo la inversión de tramos descendentes hace swaps; las mezclas y la inserción binaria se cuentan como movimientos.
+ */
+public class NaturalMergeSort {
+
+    // Tamaño mínimo de un tramo antes de mezclar (los tramos cortos se completan con inserción binaria).
+    private static final int MIN_MERGE = 32;
+
+    // Número de victorias consecutivas de un mismo tramo para entrar en modo galloping.
+    private static final int MIN_GALLOP = 7;
+
+    // Tamaño máximo de la pila de tramos (suficiente para arrays de hasta 2^31 elementos).
+    private static final int MAX_STACK = 49;
+
+    private NaturalMergeSort() {}
+
+    // Algoritmo listo para el benchmark: cronometra sortUncounted y obtiene las métricas con sort.
+    public static <T> SortingAlgorithm<T> algorithm() {
+        return SortingAlgorithm.stable(SortingAlgorithm.of(NaturalMergeSort::sort, NaturalMergeSort::sortUncounted));
+    }
+
+    /**
+     * Ordena un array genérico 'a' usando Merge Sort natural, extrayendo
+     * la clave de comparación con 'keyExtractor'.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics que contiene el número total de comparaciones, swaps y movimientos.
+     */
+    public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada: reporta comparaciones, swaps, movimientos y extracciones de clave al gancho 'probe'.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    public static <T> void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        // No hay nada que ordenar si el array es nulo o tiene menos de 2 elementos.
+        if (a == null || a.length < 2) {
+            return;
+        }
+        new Merger<>(a, keyExtractor, true, probe).run();
+    }
+
+    // Camino sin métricas: el mismo Merger sin contar (no llama al gancho), para cronometrar sin distorsión.
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+        new Merger<>(a, keyExtractor, false, SortProbe.NONE).run();
+    }
+
+    // Calcula el largo mínimo de tramo para que el número de tramos sea (casi) una potencia de 2.
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    // Estado de una ejecución: array, pila de tramos pendientes, buffer auxiliar y gancho de métricas (solo se
+    // llama si 'counted').
+    private static final class Merger<T> {
+        private final T[] a;
+        private final KeyExtractor<T, ? extends Comparable<?>> keyExtractor;
+        private final boolean counted;
+        private final SortProbe probe;
+
+        private final int[] runBase = new int[MAX_STACK];
+        private final int[] runLen = new int[MAX_STACK];
+        private int stackSize = 0;
+
+        private T[] tmp;
+        private int minGallop = MIN_GALLOP;
+
+        @SuppressWarnings("unchecked")
+        Merger(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, boolean counted, SortProbe probe) {
+            this.a = a;
+            this.keyExtractor = keyExtractor;
+            this.counted = counted;
+            this.probe = probe;
+            this.tmp = (T[]) new Object[Math.min(a.length, 256)];
+        }
+
+        // Compara dos elementos por su clave y cuenta la comparación.
+        @SuppressWarnings("unchecked")
+        private int compare(T x, T y) {
+            if (counted) {
+                probe.comparisons(1);
+                probe.keyExtractions(2);
+            }
+            Comparable<Object> left = (Comparable<Object>) keyExtractor.extract(x);
+            return left.compareTo(keyExtractor.extract(y));
+        }
+
+        void run() {
+            int n = a.length;
+            int minRun = minRunLength(n);
+            int lo = 0;
+            int remaining = n;
+
+            while (remaining > 0) {
+                // Identifica el siguiente tramo natural (invirtiéndolo si era descendente).
+                int len = countRunAndMakeAscending(lo, n);
+
+                // Si el tramo es corto, se extiende hasta minRun con inserción binaria.
+                if (len < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(lo, lo + force, lo + len);
+                    len = force;
+                }
+
+                // Apila el tramo y mezcla mientras no se cumplan los invariantes de la pila.
+                runBase[stackSize] = lo;
+                runLen[stackSize] = len;
+                stackSize++;
+                mergeCollapse();
+
+                lo += len;
+                remaining -= len;
+            }
+
+            // Mezcla todos los tramos restantes en uno solo.
+            mergeForceCollapse();
+        }
+
+        // Devuelve el largo del tramo que empieza en 'lo'; si es estrictamente descendente lo invierte (estable).
+        private int countRunAndMakeAscending(int lo, int hi) {
+            int runHi = lo + 1;
+            if (runHi == hi) return 1;
+
+            if (compare(a[runHi++], a[lo]) < 0) {
+                while (runHi < hi && compare(a[runHi], a[runHi - 1]) < 0) runHi++;
+                reverseRange(lo, runHi);
+            } else {
+                while (runHi < hi && compare(a[runHi], a[runHi - 1]) >= 0) runHi++;
+            }
+            return runHi - lo;
+        }
+
+        // Invierte a[lo..hi) in-place.
+        private void reverseRange(int lo, int hi) {
+            hi--;
+            while (lo < hi) {
+                T t = a[lo];
+                a[lo++] = a[hi];
+                a[hi--] = t;
+                if (counted) {
+                    probe.swaps(1);
+                    probe.moves(2);
+                }
+            }
+        }
+
+        // Ordena a[lo..hi) sabiendo que a[lo..start) ya está ordenado, usando búsqueda binaria para cada inserción.
+        private void binaryInsertionSort(int lo, int hi, int start) {
+            for (; start < hi; start++) {
+                T pivot = a[start];
+                int left = lo;
+                int right = start;
+
+                // El "<" estricto coloca el pivote después de sus iguales (estabilidad).
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (compare(pivot, a[mid]) < 0) right = mid;
+                    else left = mid + 1;
+                }
+
+                int shift = start - left;
+                if (shift > 0) {
+                    System.arraycopy(a, left, a, left + 1, shift);
+                    a[left] = pivot;
+                    if (counted) probe.moves(shift + 1);
+                }
+            }
+        }
+
+        // Mantiene los invariantes runLen[i-2] > runLen[i-1] + runLen[i] y runLen[i-1] > runLen[i].
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        // Mezcla todos los tramos de la pila hasta que quede uno.
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // Mezcla los tramos i e i+1 de la pila.
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int len1 = runLen[i];
+            int base2 = runBase[i + 1];
+            int len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Los elementos iniciales del tramo 1 menores o iguales al primero del tramo 2 ya están en su lugar.
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Los elementos finales del tramo 2 mayores o iguales al último del tramo 1 ya están en su lugar.
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            mergeLo(base1, len1, base2, len2);
+        }
+
+        // Posición más a la izquierda donde insertar 'key' en arr[base..base+len) (antes de sus iguales).
+        private int gallopLeft(T key, T[] arr, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+
+            if (compare(key, arr[base + hint]) > 0) {
+                // Galopa hacia la derecha hasta que arr[base+hint+lastOfs] < key <= arr[base+hint+ofs].
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && compare(key, arr[base + hint + ofs]) > 0) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                // Galopa hacia la izquierda hasta que arr[base+hint-ofs] < key <= arr[base+hint-lastOfs].
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && compare(key, arr[base + hint - ofs]) <= 0) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            }
+
+            // Búsqueda binaria dentro del intervalo encontrado.
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (compare(key, arr[base + m]) > 0) lastOfs = m + 1;
+                else ofs = m;
+            }
+            return ofs;
+        }
+
+        // Posición más a la derecha donde insertar 'key' en arr[base..base+len) (después de sus iguales).
+        private int gallopRight(T key, T[] arr, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+
+            if (compare(key, arr[base + hint]) < 0) {
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && compare(key, arr[base + hint - ofs]) < 0) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int t = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - t;
+            } else {
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && compare(key, arr[base + hint + ofs]) >= 0) {
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs;
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                if (compare(key, arr[base + m]) < 0) ofs = m;
+                else lastOfs = m + 1;
+            }
+            return ofs;
+        }
+
+        // Mezcla estable de dos tramos adyacentes copiando el primero al buffer auxiliar.
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            T[] buf = ensureCapacity(len1);
+            System.arraycopy(a, base1, buf, 0, len1);
+            // Movimientos: copia del tramo 1 al buffer + escritura final de ambos tramos.
+            if (counted) probe.moves(len1 + len1 + len2);
+
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+
+            a[dest++] = a[cursor2++];
+            if (--len2 == 0) {
+                System.arraycopy(buf, cursor1, a, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = buf[cursor1];
+                return;
+            }
+
+            int gallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0; // Victorias consecutivas del tramo 1.
+                int count2 = 0; // Victorias consecutivas del tramo 2.
+
+                // Mezcla uno a uno hasta que un tramo gane MIN_GALLOP veces seguidas.
+                do {
+                    if (compare(a[cursor2], buf[cursor1]) < 0) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = buf[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Modo galloping: copia bloques enteros mientras siga siendo rentable.
+                do {
+                    count1 = gallopRight(a[cursor2], buf, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(buf, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(buf[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = buf[cursor1++];
+                    if (--len1 == 1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+                // Penaliza salir del modo galloping para no alternar demasiado.
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            this.minGallop = Math.max(gallop, 1);
+
+            if (len1 == 1) {
+                System.arraycopy(a, cursor2, a, dest, len2);
+                a[dest + len2] = buf[cursor1];
+            } else if (len1 == 0) {
+                throw new IllegalArgumentException("La clave de comparación no define un orden total consistente.");
+            } else {
+                System.arraycopy(buf, cursor1, a, dest, len1);
+            }
+        }
+
+        // Garantiza que el buffer auxiliar tenga al menos 'minCapacity' posiciones.
+        @SuppressWarnings("unchecked")
+        private T[] ensureCapacity(int minCapacity) {
+            if (tmp.length < minCapacity) {
+                int newSize = Math.max(minCapacity, Math.min(a.length, tmp.length << 1));
+                tmp = (T[]) new Object[newSize];
+            }
+            return tmp;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merge Sort estable y paralelo basado en Fork/Join.
+ * Divide el array recursivamente; los subarreglos menores a 'cutoff' se ordenan secuencialmente
+ * y las mitades se mezclan al regresar de la recursión.
+ * Cada tarea lleva su propio CountingProbe y el padre lo suma tras el join (sin atómicos compartidos);
+ * sin métricas, las tareas no llaman al gancho. No hace swaps: las escrituras se cuentan como movimientos.
+ * El ForkJoinPool se crea una sola vez por instancia (sus hilos arrancan con la primera ordenación), así su costo
+ * de arranque no entra en el tiempo medido de cada ordenación; close() lo libera.
+ */
+public class ParallelMergeSort<T> implements SortingAlgorithm<T>, AutoCloseable {
+
+    // Por debajo de este tamaño se usa inserción directa dentro de la parte secuencial.
+    private static final int INSERTION_THRESHOLD = 16;
+
+    // Tamaño de subarreglo por defecto a partir del cual ya no se crean nuevas tareas.
+    public static final int DEFAULT_CUTOFF = 8192;
+
+    private final int parallelism;
+    private final int cutoff;
+    private final ForkJoinPool pool;
+
+    // Crea un sorter con tantos hilos como núcleos disponibles y el corte por defecto.
+    public ParallelMergeSort() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * @param parallelism Número de hilos del ForkJoinPool (>= 1).
+     * @param cutoff Tamaño mínimo de subarreglo para seguir dividiendo en paralelo (>= 2).
+     */
+    public ParallelMergeSort(int parallelism, int cutoff) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1.");
+        }
+        if (cutoff < 2) {
+            throw new IllegalArgumentException("El corte secuencial debe ser al menos 2.");
+        }
+        this.parallelism = parallelism;
+        this.cutoff = cutoff;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int cutoff() {
+        return cutoff;
+    }
+
+    @Override
+    public int threads() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean stable() {
+        return true;
+    }
+
+    /**
+     * Ordena 'a' en paralelo, extrayendo la clave de comparación con 'keyExtractor'.
+     *
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics con el total de comparaciones, movimientos y extracciones de todas las tareas.
+     */
+    @Override
+    public SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada: al terminar, reenvía a 'probe' los contadores agregados de todas las tareas.
+     *
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores (solo desde el hilo que llama).
+     */
+    public void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        run(a, keyExtractor, probe != SortProbe.NONE, probe);
+    }
+
+    @Override
+    public void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        run(a, keyExtractor, false, SortProbe.NONE);
+    }
+
+    private void run(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, boolean counted, SortProbe probe) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        // Buffer auxiliar compartido: cada tarea solo usa su propio rango [lo, hi).
+        T[] tmp = a.clone();
+        MergeTask<T> root = new MergeTask<>(a, tmp, 0, a.length, cutoff, keyExtractor, counted);
+
+        pool.invoke(root);
+
+        if (counted) {
+            ((CountingProbe) root.probe).drainTo(probe);
+        }
+    }
+
+    // Libera los hilos del pool; después de cerrarlo, ordenar lanza RejectedExecutionException.
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Tarea que ordena a[lo, hi). Su probe incluye los contadores de sus subtareas una vez terminada.
+    private static final class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] a;
+        private final T[] tmp;
+        private final int lo;
+        private final int hi;
+        private final int cutoff;
+        private final KeyExtractor<T, ? extends Comparable<?>> keyExtractor;
+        private final boolean counted;
+        private final SortProbe probe;
+
+        MergeTask(T[] a, T[] tmp, int lo, int hi, int cutoff, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                  boolean counted) {
+            this.a = a;
+            this.tmp = tmp;
+            this.lo = lo;
+            this.hi = hi;
+            this.cutoff = cutoff;
+            this.keyExtractor = keyExtractor;
+            this.counted = counted;
+            this.probe = counted ? new CountingProbe() : SortProbe.NONE;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                sequentialSort(lo, hi);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            MergeTask<T> left = new MergeTask<>(a, tmp, lo, mid, cutoff, keyExtractor, counted);
+            MergeTask<T> right = new MergeTask<>(a, tmp, mid, hi, cutoff, keyExtractor, counted);
+            invokeAll(left, right);
+
+            // Agregación sin contención: cada hijo ya terminó y sus contadores son visibles tras el join.
+            if (counted) {
+                ((CountingProbe) left.probe).drainTo(probe);
+                ((CountingProbe) right.probe).drainTo(probe);
+            }
+
+            merge(lo, mid, hi);
+        }
+
+        // Compara dos elementos por su clave y cuenta la comparación.
+        @SuppressWarnings("unchecked")
+        private int compare(T x, T y) {
+            if (counted) {
+                probe.comparisons(1);
+                probe.keyExtractions(2);
+            }
+            Comparable<Object> left = (Comparable<Object>) keyExtractor.extract(x);
+            return left.compareTo(keyExtractor.extract(y));
+        }
+
+        // Merge Sort secuencial top-down con inserción directa en rangos pequeños.
+        private void sequentialSort(int from, int to) {
+            if (to - from <= INSERTION_THRESHOLD) {
+                insertionSort(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sequentialSort(from, mid);
+            sequentialSort(mid, to);
+            merge(from, mid, to);
+        }
+
+        private void insertionSort(int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                T keyElem = a[i];
+                int j = i - 1;
+                while (j >= from && compare(a[j], keyElem) > 0) {
+                    a[j + 1] = a[j];
+                    if (counted) probe.moves(1);
+                    j--;
+                }
+                if (j + 1 != i) {
+                    a[j + 1] = keyElem;
+                    if (counted) probe.moves(1);
+                }
+            }
+        }
+
+        // Mezcla estable de a[from, mid) y a[mid, to) usando tmp[from, mid) como copia de la mitad izquierda.
+        private void merge(int from, int mid, int to) {
+            // Si las mitades ya están en orden, no hay nada que mezclar.
+            if (compare(a[mid - 1], a[mid]) <= 0) return;
+
+            System.arraycopy(a, from, tmp, from, mid - from);
+            if (counted) probe.moves(mid - from);
+
+            int i = from;
+            int j = mid;
+            int k = from;
+            while (i < mid && j < to) {
+                // "<=" sobre la izquierda conserva el orden original entre iguales (estabilidad).
+                if (compare(tmp[i], a[j]) <= 0) a[k++] = tmp[i++];
+                else a[k++] = a[j++];
+            }
+            while (i < mid) a[k++] = tmp[i++];
+            if (counted) probe.moves(k - from);
+        }
+    }
+}
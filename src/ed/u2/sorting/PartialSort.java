@@ -0,0 +1,242 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ordenación parcial y selección: para cuando solo interesan los k primeros elementos por clave
+ * (p. ej., los k pacientes más prioritarios o los k insumos con menos stock).
+ * - topK: montículo máximo acotado a k elementos, O(n log k); no modifica la entrada.
+ * - partialSort: deja los k menores al principio, en orden y de forma estable, O(n log k).
+ * - nthElement: quickselect con partición de tres vías, O(n) en promedio; no es estable.
+ * Las claves se extraen una sola vez por elemento en topK / partialSort.
+ */
+public final class PartialSort {
+
+    private PartialSort() {}
+
+    /**
+     * Devuelve los k elementos con menor clave, en orden ascendente. Entre claves iguales respeta
+     * el orden original (estable). El arreglo de entrada no se modifica.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array de entrada.
+     * @param k Número de elementos pedidos (si es mayor que a.length se devuelven todos).
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un array nuevo con min(k, a.length) elementos.
+     */
+    public static <T> T[] topK(T[] a, int k, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        return topK(a, k, keyExtractor, SortProbe.NONE);
+    }
+
+    // Versión instrumentada de topK.
+    public static <T> T[] topK(T[] a, int k, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        int[] idx = smallestIndices(a, k, keyExtractor, probe);
+        T[] out = Arrays.copyOf(a, idx.length);
+        for (int i = 0; i < idx.length; i++) {
+            out[i] = a[idx[i]];
+        }
+        probe.moves(idx.length);
+        return out;
+    }
+
+    /**
+     * Ordenación parcial estable in-place: a[0, k) queda con los k menores en orden ascendente y
+     * a[k, n) con el resto, en su orden relativo original.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a reordenar.
+     * @param k Número de posiciones a dejar ordenadas.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics con comparaciones, movimientos y extracciones de clave.
+     */
+    public static <T> SortMetrics partialSort(T[] a, int k, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        partialSort(a, k, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Versión instrumentada de partialSort.
+    public static <T> void partialSort(T[] a, int k, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                       SortProbe probe) {
+        int[] idx = smallestIndices(a, k, keyExtractor, probe);
+        if (idx.length == 0) {
+            return;
+        }
+
+        boolean[] selected = new boolean[a.length];
+        for (int i : idx) selected[i] = true;
+
+        T[] original = a.clone();
+        for (int i = 0; i < idx.length; i++) {
+            a[i] = original[idx[i]];
+        }
+        int pos = idx.length;
+        for (int i = 0; i < original.length; i++) {
+            if (!selected[i]) a[pos++] = original[i];
+        }
+        probe.moves(a.length);
+    }
+
+    /**
+     * Selección in-place (quickselect): deja en a[n] el elemento que ocuparía esa posición si el arreglo
+     * estuviera ordenado, con claves <= a la izquierda y >= a la derecha. No es estable.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a reordenar.
+     * @param n Posición pedida (0 = mínimo).
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return Un objeto SortMetrics con comparaciones, swaps, movimientos y extracciones de clave.
+     */
+    public static <T> SortMetrics nthElement(T[] a, int n, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        nthElement(a, n, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Versión instrumentada de nthElement.
+    @SuppressWarnings("unchecked")
+    public static <T> void nthElement(T[] a, int n, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                      SortProbe probe) {
+        if (a == null || n < 0 || n >= a.length) {
+            throw new IllegalArgumentException("Posición fuera de rango: " + n);
+        }
+
+        // Pivote aleatorio con semilla fija: O(n) esperado y resultados reproducibles.
+        SplittableRandom rnd = new SplittableRandom(n);
+        int lo = 0;
+        int hi = a.length - 1;
+        while (lo < hi) {
+            Comparable<Object> pivot = (Comparable<Object>) keyExtractor.extract(a[lo + rnd.nextInt(hi - lo + 1)]);
+            probe.keyExtractions(1);
+
+            // Partición de tres vías (Dijkstra): a[lo, lt) < pivote == a[lt, gt] < a(gt, hi].
+            int lt = lo;
+            int i = lo;
+            int gt = hi;
+            while (i <= gt) {
+                probe.comparisons(1);
+                probe.keyExtractions(1);
+                int c = ((Comparable<Object>) keyExtractor.extract(a[i])).compareTo(pivot);
+                if (c < 0) swap(a, lt++, i++, probe);
+                else if (c > 0) swap(a, i, gt--, probe);
+                else i++;
+            }
+
+            // Continúa solo en la parte que contiene la posición pedida.
+            if (n < lt) hi = lt - 1;
+            else if (n > gt) lo = gt + 1;
+            else return;
+        }
+    }
+
+    // Índices de los k menores por (clave, índice), ya ordenados. Montículo máximo acotado: O(n log k).
+    @SuppressWarnings("unchecked")
+    private static <T> int[] smallestIndices(T[] a, int k, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                             SortProbe probe) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k no puede ser negativo: " + k);
+        }
+        if (a == null || k == 0 || a.length == 0) {
+            return new int[0];
+        }
+        k = Math.min(k, a.length);
+
+        Heap heap = new Heap(k, probe);
+        for (int i = 0; i < a.length; i++) {
+            Comparable<Object> key = (Comparable<Object>) keyExtractor.extract(a[i]);
+            if (heap.size < k) {
+                heap.push(key, i);
+            } else if (heap.less(key, i, 0)) {
+                // Reemplaza al mayor de los k actuales.
+                heap.replaceTop(key, i);
+            }
+        }
+        probe.keyExtractions(a.length);
+        return heap.drainSorted();
+    }
+
+    private static <T> void swap(T[] a, int i, int j, SortProbe probe) {
+        if (i == j) return;
+        T t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+        probe.swaps(1);
+        probe.moves(2);
+    }
+
+    // Montículo máximo de pares (clave, índice original); a igual clave, el índice mayor es el "mayor" (estabilidad).
+    private static final class Heap {
+        private final Comparable<Object>[] keys;
+        private final int[] idx;
+        private final SortProbe probe;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        Heap(int capacity, SortProbe probe) {
+            this.keys = (Comparable<Object>[]) new Comparable<?>[capacity];
+            this.idx = new int[capacity];
+            this.probe = probe;
+        }
+
+        // true si (key, index) va antes que el elemento en la posición 'slot' del montículo.
+        boolean less(Comparable<Object> key, int index, int slot) {
+            probe.comparisons(1);
+            int c = key.compareTo(keys[slot]);
+            return c < 0 || (c == 0 && index < idx[slot]);
+        }
+
+        private boolean lessSlots(int s1, int s2) {
+            return less(keys[s1], idx[s1], s2);
+        }
+
+        void push(Comparable<Object> key, int index) {
+            int s = size++;
+            keys[s] = key;
+            idx[s] = index;
+            while (s > 0) {
+                int parent = (s - 1) >>> 1;
+                if (!lessSlots(parent, s)) break;
+                swapSlots(parent, s);
+                s = parent;
+            }
+        }
+
+        void replaceTop(Comparable<Object> key, int index) {
+            keys[0] = key;
+            idx[0] = index;
+            siftDown(0, size);
+        }
+
+        private void siftDown(int s, int n) {
+            while (true) {
+                int child = 2 * s + 1;
+                if (child >= n) return;
+                if (child + 1 < n && lessSlots(child, child + 1)) child++;
+                if (!lessSlots(s, child)) return;
+                swapSlots(s, child);
+                s = child;
+            }
+        }
+
+        private void swapSlots(int i, int j) {
+            Comparable<Object> k = keys[i];
+            keys[i] = keys[j];
+            keys[j] = k;
+            int t = idx[i];
+            idx[i] = idx[j];
+            idx[j] = t;
+        }
+
+        // Heap Sort sobre el propio montículo: deja los índices en orden ascendente de (clave, índice).
+        int[] drainSorted() {
+            for (int end = size - 1; end > 0; end--) {
+                swapSlots(0, end);
+                siftDown(0, end);
+            }
+            return Arrays.copyOf(idx, size);
+        }
+    }
+}
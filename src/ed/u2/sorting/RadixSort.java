@@ -0,0 +1,156 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.IntKeyExtractor;
+import ed.u2.utils.LongKeyExtractor;
+
+import java.util.Arrays;
+
+/**
+ * Radix Sort LSD (dígito menos significativo primero) estable, con dígitos de 8 bits.
+ * Trabaja con claves primitivas (int / long), por lo que no hace boxing ni comparaciones: O(n·bytes).
+ * Las métricas reportan 0 comparaciones, 0 swaps, los movimientos de elementos y una extracción de clave por elemento.
+ */
+public class RadixSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+
+    private RadixSort() {}
+
+    /**
+     * Algoritmo listo para el benchmark que ordena por una clave int.
+     * El algoritmo devuelto IGNORA el KeyExtractor que recibe en sort / sortUncounted: siempre ordena por
+     * 'keyExtractor'. Quien lo use debe pasarle un extractor que induzca el mismo orden (p. ej., Patient::getPrioridad
+     * en ambos); si no coinciden, SortingUtils.runBenchmark lo detecta al verificar la salida con el extractor recibido.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param keyExtractor Clave int por la que se ordena realmente.
+     * @return Un SortingAlgorithm estable que ordena por 'keyExtractor'.
+     */
+    public static <T> SortingAlgorithm<T> byInt(IntKeyExtractor<T> keyExtractor) {
+        return SortingAlgorithm.stable(SortingAlgorithm.of((arr, k) -> sortByInt(arr, keyExtractor),
+                (arr, k) -> sortByInt(arr, keyExtractor, SortProbe.NONE)));
+    }
+
+    /**
+     * Algoritmo listo para el benchmark que ordena por una clave long.
+     * Igual que byInt, el algoritmo devuelto IGNORA el KeyExtractor que recibe: siempre ordena por 'keyExtractor'
+     * (p. ej., Appointment::getEpochMinute junto con Appointment::getDateTime como extractor Comparable).
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param keyExtractor Clave long por la que se ordena realmente.
+     * @return Un SortingAlgorithm estable que ordena por 'keyExtractor'.
+     */
+    public static <T> SortingAlgorithm<T> byLong(LongKeyExtractor<T> keyExtractor) {
+        return SortingAlgorithm.stable(SortingAlgorithm.of((arr, k) -> sortByLong(arr, keyExtractor),
+                (arr, k) -> sortByLong(arr, keyExtractor, SortProbe.NONE)));
+    }
+
+    /**
+     * Ordena 'a' por una clave int (p. ej., Patient::getPrioridad o InventoryItem::getStock).
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función que obtiene la clave int de cada elemento T.
+     * @return Un objeto SortMetrics con 0 comparaciones y el total de movimientos.
+     */
+    public static <T> SortMetrics sortByInt(T[] a, IntKeyExtractor<T> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sortByInt(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Versión instrumentada de sortByInt; con SortProbe.NONE no cuenta nada.
+    public static <T> void sortByInt(T[] a, IntKeyExtractor<T> keyExtractor, SortProbe probe) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        // Se invierte el bit de signo para que el orden sin signo coincida con el orden con signo.
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = (keyExtractor.extractAsInt(a[i]) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+        probe.keyExtractions(a.length);
+        sortByKeys(a, keys, Integer.BYTES, probe);
+    }
+
+    /**
+     * Ordena 'a' por una clave long (p. ej., Appointment::getEpochMinute).
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función que obtiene la clave long de cada elemento T.
+     * @return Un objeto SortMetrics con 0 comparaciones y el total de movimientos.
+     */
+    public static <T> SortMetrics sortByLong(T[] a, LongKeyExtractor<T> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sortByLong(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Versión instrumentada de sortByLong; con SortProbe.NONE no cuenta nada.
+    public static <T> void sortByLong(T[] a, LongKeyExtractor<T> keyExtractor, SortProbe probe) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = keyExtractor.extractAsLong(a[i]) ^ Long.MIN_VALUE;
+        }
+        probe.keyExtractions(a.length);
+        sortByKeys(a, keys, Long.BYTES, probe);
+    }
+
+    // Núcleo LSD: las claves ya están normalizadas a orden sin signo y viajan junto a sus elementos.
+    private static <T> void sortByKeys(T[] a, long[] keys, int bytes, SortProbe probe) {
+        int n = a.length;
+
+        T[] src = a;
+        T[] dst = Arrays.copyOf(a, n);
+        long[] srcKeys = keys;
+        long[] dstKeys = new long[n];
+        int[] count = new int[BUCKETS];
+
+        for (int pass = 0; pass < bytes; pass++) {
+            int shift = pass * RADIX_BITS;
+
+            // Histograma del dígito actual.
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(int) (srcKeys[i] >>> shift) & MASK]++;
+            }
+
+            // Si todos los elementos comparten el dígito, la pasada no cambia nada y se omite.
+            if (count[(int) (srcKeys[0] >>> shift) & MASK] == n) continue;
+
+            // Suma de prefijos: posición inicial de cada cubeta.
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+
+            // Distribución estable: se recorre en orden y se conserva el orden relativo dentro de cada cubeta.
+            for (int i = 0; i < n; i++) {
+                int pos = count[(int) (srcKeys[i] >>> shift) & MASK]++;
+                dst[pos] = src[i];
+                dstKeys[pos] = srcKeys[i];
+            }
+            probe.moves(n);
+
+            // Intercambia los roles de origen y destino para la siguiente pasada.
+            T[] t = src; src = dst; dst = t;
+            long[] tk = srcKeys; srcKeys = dstKeys; dstKeys = tk;
+        }
+
+        // Si el resultado quedó en el buffer auxiliar, se copia al array original.
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            probe.moves(n);
+        }
+    }
+}
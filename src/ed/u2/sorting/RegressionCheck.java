@@ -0,0 +1,108 @@
+package ed.u2.sorting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara dos corridas de benchmarks y detecta ralentizaciones por algoritmo y dataset.
+ * Un caso es una regresión si cumple dos condiciones:
+ *  - la mediana creció más que el umbral relativo (p. ej., 0.10 = 10% más lenta), y
+ *  - la diferencia de medias es estadísticamente significativa según la prueba t de Welch (varianzas distintas),
+ *    usando los valores críticos de dos colas al 95% de TimingStats (una cola al 97.5%, algo conservador).
+ * Con menos de dos muestras en alguna corrida no se puede estimar la varianza y el caso nunca cuenta como regresión.
+ */
+public final class RegressionCheck {
+
+    private RegressionCheck() {}
+
+    /**
+     * Comparación de un mismo caso (algoritmo, dataset, tipo, tamaño, hilos) entre dos corridas.
+     *
+     * @param key Identificador del caso.
+     * @param baseline Tiempos de la corrida de referencia.
+     * @param current Tiempos de la corrida evaluada.
+     * @param change Cambio relativo de la mediana: 0.25 significa 25% más lenta, negativo si es más rápida.
+     * @param tStatistic Estadístico t de Welch (positivo si la corrida evaluada es más lenta).
+     * @param significant true si la diferencia de medias es significativa al 95%.
+     * @param regression true si es significativa y el cambio supera el umbral.
+     */
+    public record Comparison(String key, TimingStats baseline, TimingStats current, double change, double tStatistic,
+            boolean significant, boolean regression) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-8s %s | mediana %d -> %d ns (%+.1f%%) | t=%.2f%s",
+                    regression ? "REGRESIÓN" : significant ? (change > 0 ? "lento" : "rápido") : "igual",
+                    key, baseline.p50(), current.p50(), change * 100, tStatistic, significant ? " *" : "");
+        }
+    }
+
+    /**
+     * Compara los casos presentes en ambas corridas; los que solo están en una se ignoran.
+     * Si un caso aparece varias veces en una corrida se usa su última aparición.
+     *
+     * @param baseline Resultados de la corrida de referencia.
+     * @param current Resultados de la corrida evaluada.
+     * @param threshold Aumento relativo de la mediana tolerado (p. ej., 0.10).
+     * @return Una comparación por caso, en el orden de la corrida evaluada.
+     */
+    public static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current, double threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("El umbral no puede ser negativo: " + threshold);
+        }
+        Map<String, BenchmarkResult> before = index(baseline);
+        Map<String, BenchmarkResult> after = index(current);
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, BenchmarkResult> e : after.entrySet()) {
+            BenchmarkResult old = before.get(e.getKey());
+            if (old != null) {
+                comparisons.add(compare(e.getKey(), old.timing(), e.getValue().timing(), threshold));
+            }
+        }
+        return comparisons;
+    }
+
+    // Solo las comparaciones que son regresiones.
+    public static List<Comparison> regressions(List<Comparison> comparisons) {
+        return comparisons.stream().filter(Comparison::regression).toList();
+    }
+
+    private static Comparison compare(String key, TimingStats base, TimingStats cur, double threshold) {
+        double change = base.p50() == 0 ? 0 : (double) cur.p50() / base.p50() - 1;
+
+        double t = 0;
+        boolean significant = false;
+        if (base.count() > 1 && cur.count() > 1) {
+            double vb = base.variance() / base.count();
+            double vc = cur.variance() / cur.count();
+            double se = Math.sqrt(vb + vc);
+            double diff = cur.mean() - base.mean();
+            if (se == 0) {
+                // Sin dispersión en ninguna corrida: cualquier diferencia es real.
+                t = diff == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, diff);
+                significant = diff != 0;
+            } else {
+                t = diff / se;
+                // Grados de libertad de Welch-Satterthwaite.
+                double df = (vb + vc) * (vb + vc)
+                        / (vb * vb / (base.count() - 1) + vc * vc / (cur.count() - 1));
+                significant = Math.abs(t) > TimingStats.criticalT(Math.max(1, (int) Math.floor(df)));
+            }
+        }
+        boolean regression = significant && t > 0 && change > threshold;
+        return new Comparison(key, base, cur, change, t, significant, regression);
+    }
+
+    private static Map<String, BenchmarkResult> index(List<BenchmarkResult> results) {
+        Map<String, BenchmarkResult> byKey = new LinkedHashMap<>();
+        for (BenchmarkResult r : results) {
+            byKey.put(r.algorithmName() + " / " + r.datasetName() + " (" + r.datasetType() + ", n=" + r.size()
+                    + ", hilos=" + r.threads() + ")", r);
+        }
+        return byKey;
+    }
+}
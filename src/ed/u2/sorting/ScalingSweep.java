@@ -0,0 +1,212 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Barrido de escalabilidad: mide cada algoritmo con runBenchmark sobre tamaños N crecientes (en progresión
+ * geométrica), ajusta c·N^b para tiempo, comparaciones y movimientos, y encuentra los N donde un algoritmo
+ * pasa a ser más rápido que otro.
+ *
+ * Un algoritmo deja de medirse cuando la mediana de un punto supera el tope de tiempo, o cuando la extrapolación
+ * de sus dos últimos puntos predice que el siguiente lo superaría (así un O(N²) no se lanza a un N 10 veces mayor
+ * que ya costaría 100 veces más).
+ */
+public final class ScalingSweep {
+
+    // Un cruce de los ajustes solo se reporta si cae a menos de este factor del mayor N medido en común.
+    private static final double MAX_EXTRAPOLATION = 10;
+
+    private ScalingSweep() {}
+
+    /**
+     * Resultados de un algoritmo a lo largo del barrido.
+     *
+     * @param algorithm Nombre del algoritmo.
+     * @param points Un resultado por tamaño medido, en orden creciente de N.
+     * @param capped true si se detuvo antes del último tamaño por el tope de tiempo.
+     * @param time Ajuste del tiempo (mediana, ns).
+     * @param comparisons Ajuste de las comparaciones.
+     * @param moves Ajuste de los movimientos.
+     */
+    public record Series(String algorithm, List<BenchmarkResult> points, boolean capped, ComplexityFit time,
+            ComplexityFit comparisons, ComplexityFit moves) {
+
+        // Mayor N medido (0 si no se midió ninguno).
+        public long maxSize() {
+            return points.isEmpty() ? 0 : points.get(points.size() - 1).size();
+        }
+    }
+
+    /**
+     * Cruce entre dos algoritmos: por debajo de 'size' conviene 'below' y por encima 'above'.
+     *
+     * @param below Algoritmo más rápido para N pequeños.
+     * @param above Algoritmo más rápido para N grandes.
+     * @param size N del cruce (interpolado en escala log-log).
+     * @param extrapolated true si no se observó en el rango medido y sale de los ajustes.
+     */
+    public record Crossover(String below, String above, double size, boolean extrapolated) {}
+
+    /**
+     * Tamaños min, min·factor, min·factor², ... hasta max (incluido), redondeados y sin repetidos.
+     *
+     * @param min Primer tamaño (>= 1).
+     * @param max Último tamaño.
+     * @param factor Razón de la progresión (> 1), p. ej., √10 para dos puntos por década.
+     * @return Los tamaños en orden creciente.
+     */
+    public static int[] geometricSizes(int min, int max, double factor) {
+        if (min < 1 || max < min || !(factor > 1)) {
+            throw new IllegalArgumentException("Rango de tamaños inválido: " + min + ".." + max + " ×" + factor);
+        }
+        List<Integer> sizes = new ArrayList<>();
+        for (double n = min; Math.round(n) <= max; n *= factor) {
+            int size = (int) Math.round(n);
+            if (sizes.isEmpty() || sizes.get(sizes.size() - 1) != size) sizes.add(size);
+        }
+        if (sizes.get(sizes.size() - 1) != max) sizes.add(max);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Ejecuta el barrido. El dataset de cada tamaño (y su SortVerifier) se prepara una sola vez y lo comparten todos
+     * los algoritmos.
+     *
+     * @param datasetName Nombre del dataset en los resultados.
+     * @param datasetType Tipo (distribución) del dataset en los resultados.
+     * @param dataset Genera el dataset de N elementos.
+     * @param keyExtractor Clave de ordenación.
+     * @param algorithms Algoritmos por nombre, en el orden en que se reportan.
+     * @param sizes Tamaños crecientes (ver geometricSizes).
+     * @param capNanos Tope para la mediana de tiempo de un punto.
+     * @param progress Recibe cada resultado apenas se mide (p. ej., para imprimirlo).
+     * @return Una serie por algoritmo, en el orden de 'algorithms'.
+     */
+    public static <T> List<Series> run(String datasetName, String datasetType, IntFunction<T[]> dataset,
+                                       KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                       Map<String, SortingAlgorithm<T>> algorithms, int[] sizes, long capNanos,
+                                       Consumer<BenchmarkResult> progress) {
+        Map<String, List<BenchmarkResult>> points = new LinkedHashMap<>();
+        Map<String, Boolean> capped = new LinkedHashMap<>();
+        for (String name : algorithms.keySet()) {
+            points.put(name, new ArrayList<>());
+            capped.put(name, false);
+        }
+
+        for (int s = 0; s < sizes.length; s++) {
+            int n = sizes[s];
+            List<String> active = new ArrayList<>();
+            for (String name : algorithms.keySet()) {
+                if (capped.get(name)) continue;
+                if (predictedTime(points.get(name), n) > capNanos) {
+                    capped.put(name, true);
+                } else {
+                    active.add(name);
+                }
+            }
+            if (active.isEmpty()) break;
+
+            T[] data = dataset.apply(n);
+            SortVerifier<T> verifier = SortVerifier.of(data, keyExtractor);
+            for (String name : active) {
+                BenchmarkResult r = SortingUtils.runBenchmark(name, datasetName, datasetType, data, keyExtractor,
+                        algorithms.get(name), verifier);
+                points.get(name).add(r);
+                progress.accept(r);
+                if (r.timeNano() > capNanos && s < sizes.length - 1) capped.put(name, true);
+            }
+        }
+
+        List<Series> series = new ArrayList<>();
+        for (Map.Entry<String, List<BenchmarkResult>> e : points.entrySet()) {
+            series.add(fit(e.getKey(), e.getValue(), capped.get(e.getKey())));
+        }
+        return series;
+    }
+
+    /**
+     * Cruces entre cada par de algoritmos. Se busca primero un cambio de signo de log(tA / tB) entre dos tamaños
+     * medidos consecutivos y se interpola (el primer cruce, si el ruido produce varios); si no hay ninguno, se usa
+     * el cruce de los ajustes de tiempo cuando cae hasta una década por encima del rango medido en común (extrapolado).
+     *
+     * @param series Resultado de run().
+     * @return Los cruces encontrados, en orden de N.
+     */
+    public static List<Crossover> crossovers(List<Series> series) {
+        List<Crossover> result = new ArrayList<>();
+        for (int i = 0; i < series.size(); i++) {
+            for (int j = i + 1; j < series.size(); j++) {
+                Crossover c = crossover(series.get(i), series.get(j));
+                if (c != null) result.add(c);
+            }
+        }
+        result.sort((x, y) -> Double.compare(x.size(), y.size()));
+        return result;
+    }
+
+    private static Crossover crossover(Series a, Series b) {
+        // Tiempos en los tamaños medidos por ambos.
+        Map<Integer, Long> timesB = new LinkedHashMap<>();
+        for (BenchmarkResult r : b.points()) timesB.put(r.size(), r.timeNano());
+
+        double prevLogN = Double.NaN;
+        double prevDiff = Double.NaN;
+        long commonMax = 0;
+        for (BenchmarkResult r : a.points()) {
+            Long tb = timesB.get(r.size());
+            if (tb == null || tb <= 0 || r.timeNano() <= 0) continue;
+            double logN = Math.log(r.size());
+            double diff = Math.log(r.timeNano()) - Math.log(tb);
+            if (!Double.isNaN(prevDiff) && Math.signum(diff) != Math.signum(prevDiff) && diff != 0) {
+                double at = Math.exp(prevLogN + (logN - prevLogN) * prevDiff / (prevDiff - diff));
+                // diff < 0 ahora: A pasó a ser el más rápido.
+                return diff < 0 ? new Crossover(b.algorithm(), a.algorithm(), at, false)
+                        : new Crossover(a.algorithm(), b.algorithm(), at, false);
+            }
+            prevLogN = logN;
+            prevDiff = diff;
+            commonMax = r.size();
+        }
+
+        double at = a.time().crossover(b.time());
+        if (Double.isNaN(at) || at <= commonMax || at > commonMax * MAX_EXTRAPOLATION) return null;
+        // Por encima del cruce gana el de menor exponente.
+        return a.time().exponent() < b.time().exponent() ? new Crossover(b.algorithm(), a.algorithm(), at, true)
+                : new Crossover(a.algorithm(), b.algorithm(), at, true);
+    }
+
+    private static Series fit(String algorithm, List<BenchmarkResult> points, boolean capped) {
+        long[] n = new long[points.size()];
+        double[] time = new double[n.length];
+        double[] comparisons = new double[n.length];
+        double[] moves = new double[n.length];
+        for (int i = 0; i < n.length; i++) {
+            BenchmarkResult r = points.get(i);
+            n[i] = r.size();
+            time[i] = r.timeNano();
+            comparisons[i] = r.comparisons();
+            moves[i] = r.moves();
+        }
+        return new Series(algorithm, List.copyOf(points), capped, ComplexityFit.of(n, time),
+                ComplexityFit.of(n, comparisons), ComplexityFit.of(n, moves));
+    }
+
+    // Tiempo previsto para N a partir de los dos últimos puntos (0 si hay menos de dos).
+    private static double predictedTime(List<BenchmarkResult> points, int n) {
+        if (points.size() < 2) return 0;
+        BenchmarkResult last = points.get(points.size() - 1);
+        BenchmarkResult prev = points.get(points.size() - 2);
+        ComplexityFit local = ComplexityFit.of(new long[] { prev.size(), last.size() },
+                new double[] { prev.timeNano(), last.timeNano() });
+        // Con tiempos tan pequeños que el exponente local es ruido, se asume al menos lineal.
+        double exponent = local.valid() ? Math.max(1, local.exponent()) : 1;
+        return last.timeNano() * Math.pow((double) n / last.size(), exponent);
+    }
+}
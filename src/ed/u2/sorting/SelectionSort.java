@@ -6,6 +6,11 @@ public class SelectionSort {
 
     private SelectionSort() {}
 
+    // Algoritmo listo para el benchmark: cronometra sortUncounted y obtiene las métricas con sort.
+    public static <T> SortingAlgorithm<T> algorithm() {
+        return SortingAlgorithm.probed(SelectionSort::sort, SelectionSort::sortUncounted);
+    }
+
     /**
      * Ordena un array genérico 'a' usando el algoritmo Selection Sort (Ordenación por Selección),
      * extrayendo la clave de comparación con 'keyExtractor'.
@@ -16,14 +21,28 @@ public class SelectionSort {
      * @return Un objeto SortMetrics que contiene el número total de comparaciones y swaps.
      */
     public static <T> SortMetrics sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sort(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    /**
+     * Versión instrumentada: reporta cada comparación, swap y extracción de clave al gancho 'probe', y cada
+     * posición fijada. Si el gancho pide detenerse, el prefijo ya recorrido queda ordenado con los menores.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @param probe Gancho que recibe los contadores.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
 
-        // Retorna métricas cero si el array es nulo o tiene menos de 2 elementos.
+        // No hay nada que ordenar si el array es nulo o tiene menos de 2 elementos.
         if (a == null || a.length < 2) {
-            return new SortMetrics(0, 0);
+            return;
         }
 
-        long comparisons = 0;
-        long swaps = 0;
         int n = a.length;
 
         // recorre el array hasta el penúltimo elemento.
@@ -33,13 +52,15 @@ public class SelectionSort {
             // Inicializa el índice del mínimo y el valor mínimo encontrado hasta ahora.
             int minIndex = i;
             Comparable<Object> minValue = (Comparable<Object>) keyExtractor.extract(a[minIndex]);
+            probe.keyExtractions(1);
 
             // busca el elemento más pequeño en la sublista no ordenada (desde i + 1).
             for (int j = i + 1; j < n; j++) {
 
                 // Extrae la clave del elemento actual para la comparación.
                 Comparable<Object> current = (Comparable<Object>) keyExtractor.extract(a[j]);
-                comparisons++; // Cada vez que se compara, se incrementa el contador.
+                probe.keyExtractions(1);
+                probe.comparisons(1); // Cada vez que se compara, se incrementa el contador.
 
                 // Si el elemento actual es menor que el mínimo encontrado hasta ahora, se actualiza el índice y el valor mínimo.
                 if (current.compareTo(minValue) < 0) {
@@ -55,11 +76,44 @@ public class SelectionSort {
                 T tmp = a[i];
                 a[i] = a[minIndex];
                 a[minIndex] = tmp;
-                swaps++;
+                probe.swaps(1);
+                probe.moves(2);
             }
+
+            // a[0..i] ya tiene sus elementos definitivos: se puede detener aquí.
+            if (!probe.pass(i + 1, n - 1)) return;
         }
+    }
 
-        // Retorna las métricas de desempeño (comparaciones y swaps).
-        return new SortMetrics(comparisons, swaps);
+    /**
+     * Camino rápido sin métricas: mismo algoritmo sin ningún contador, para cronometrar sin distorsión.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sortUncounted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        int n = a.length;
+        for (int i = 0; i < n - 1; i++) {
+            int minIndex = i;
+            Comparable<Object> minValue = (Comparable<Object>) keyExtractor.extract(a[minIndex]);
+            for (int j = i + 1; j < n; j++) {
+                Comparable<Object> current = (Comparable<Object>) keyExtractor.extract(a[j]);
+                if (current.compareTo(minValue) < 0) {
+                    minIndex = j;
+                    minValue = current;
+                }
+            }
+            if (minIndex != i) {
+                T tmp = a[i];
+                a[i] = a[minIndex];
+                a[minIndex] = tmp;
+            }
+        }
     }
 }
@@ -0,0 +1,136 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.IntKeyExtractor;
+
+import java.util.Arrays;
+
+/**
+ * Ordenación estable por una clave int (p. ej., Patient::getPrioridad o InventoryItem::getStock) con camino SIMD.
+ * Cada elemento se representa como un long: la clave en los 32 bits altos y su índice original en los 32 bajos.
+ * Ordenar esos long ordena por clave y, a igual clave, por posición original (estable); luego los objetos se
+ * reordenan en el lugar siguiendo los ciclos de la permutación, sin copiar el array.
+ *
+ * Los long se ordenan con VectorLongSort (Vector API: quicksort con partición vectorial e inserción en las hojas)
+ * si la JVM se inició con --add-modules jdk.incubator.vector, el hardware tiene vectores de 512 bits y hay al menos
+ * VECTOR_THRESHOLD elementos; si no, o con -Ded.u2.simd=false, con Arrays.sort (camino escalar). Ambos caminos
+ * producen exactamente el mismo resultado: con menos de VECTOR_THRESHOLD elementos (o sin AVX-512) siempre se usa
+ * Arrays.sort. Cada hilo conserva sus buffers de long solo hasta MAX_CACHED elementos (como mucho 2 × 256 KB).
+ * Las métricas reportan una extracción de clave y un movimiento por elemento; las comparaciones no se cuentan.
+ */
+public final class SimdSort {
+
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    // Por debajo de este tamaño la partición vectorial no compensa su costo fijo y se usa Arrays.sort
+    // (medido con AVX-512: empata cerca de 1.500 elementos y gana desde 2.000).
+    static final int VECTOR_THRESHOLD = 2_000;
+
+    // Tamaño máximo (en long) de los buffers que cada hilo conserva entre llamadas; más grandes se crean por llamada
+    // y se liberan al terminar. 32K long = 256 KB por buffer: un pool de muchos hilos no retiene decenas de MB.
+    private static final int MAX_CACHED = 1 << 15;
+
+    private static final ThreadLocal<long[][]> BUFFERS = ThreadLocal.withInitial(() -> new long[2][0]);
+
+    private SimdSort() {}
+
+    // true si se está usando la Vector API; false si se usa el camino escalar.
+    public static boolean vectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Algoritmo listo para el benchmark que ordena por una clave int.
+     * Como RadixSort.byInt, el algoritmo devuelto IGNORA el KeyExtractor que recibe en sort / sortUncounted: siempre
+     * ordena por 'keyExtractor', así que el extractor Comparable que se le pase debe inducir el mismo orden.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param keyExtractor Clave int por la que se ordena realmente.
+     * @return Un SortingAlgorithm estable que ordena por 'keyExtractor'.
+     */
+    public static <T> SortingAlgorithm<T> byInt(IntKeyExtractor<T> keyExtractor) {
+        return SortingAlgorithm.stable(SortingAlgorithm.of((arr, k) -> sortByInt(arr, keyExtractor),
+                (arr, k) -> sortByInt(arr, keyExtractor, SortProbe.NONE)));
+    }
+
+    /**
+     * Ordena 'a' de forma estable por una clave int.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param a El array a ordenar in-place.
+     * @param keyExtractor Función que obtiene la clave int de cada elemento T.
+     * @return Un objeto SortMetrics con las extracciones de clave y los movimientos.
+     */
+    public static <T> SortMetrics sortByInt(T[] a, IntKeyExtractor<T> keyExtractor) {
+        CountingProbe probe = new CountingProbe();
+        sortByInt(a, keyExtractor, probe);
+        return probe.toMetrics();
+    }
+
+    // Versión instrumentada de sortByInt; con SortProbe.NONE no cuenta nada.
+    public static <T> void sortByInt(T[] a, IntKeyExtractor<T> keyExtractor, SortProbe probe) {
+        if (a == null || a.length < 2) {
+            return;
+        }
+
+        int n = a.length;
+        boolean vector = VECTORIZED && n >= VECTOR_THRESHOLD;
+        long[][] buffers = BUFFERS.get();
+        long[] packed = buffer(buffers, 0, n);
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) keyExtractor.extractAsInt(a[i]) << 32) | i;
+        }
+        probe.keyExtractions(n);
+
+        if (vector) {
+            VectorLongSort.sort(packed, n, buffer(buffers, 1, VectorLongSort.scratchLength(n)));
+        } else {
+            Arrays.sort(packed, 0, n);
+        }
+
+        permute(a, packed, n);
+        probe.moves(n);
+    }
+
+    // Deja en a[i] el elemento que estaba en la posición (int) packed[i] (los 32 bits bajos), ciclo por ciclo.
+    // Cada posición resuelta se marca con su propio índice en 'packed'.
+    private static <T> void permute(T[] a, long[] packed, int n) {
+        for (int start = 0; start < n; start++) {
+            int from = (int) packed[start];
+            if (from == start) continue;
+            T first = a[start];
+            int i = start;
+            while (from != start) {
+                a[i] = a[from];
+                packed[i] = i;
+                i = from;
+                from = (int) packed[i];
+            }
+            a[i] = first;
+            packed[i] = i;
+        }
+    }
+
+    // Buffer reutilizable del hilo actual con al menos 'length' elementos (contenido sin inicializar).
+    private static long[] buffer(long[][] buffers, int slot, int length) {
+        long[] b = buffers[slot];
+        if (b.length >= length) return b;
+        b = new long[length];
+        if (length <= MAX_CACHED) buffers[slot] = b;
+        return b;
+    }
+
+    // La clase que usa la Vector API solo se carga si el módulo está en la capa de arranque.
+    private static boolean vectorApiAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("ed.u2.simd", "true"))) {
+            return false;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorLongSort.supported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package ed.u2.sorting;
 
 // Clase simple para almacenar métricas de un algoritmo de ordenación.
-// Contiene: número de comparaciones / número de swaps
-public record SortMetrics(long comparisons, long swaps) {
+// Contiene: número de comparaciones / número de swaps / movimientos de elementos (escrituras en el array,
+// un swap cuenta como 2) / número de extracciones de clave.
+public record SortMetrics(long comparisons, long swaps, long moves, long keyExtractions) {
 
     public SortMetrics {
         // Validación mínima
-        if (comparisons < 0 || swaps < 0) {
+        if (comparisons < 0 || swaps < 0 || moves < 0 || keyExtractions < 0) {
             throw new IllegalArgumentException("Las métricas no pueden ser negativas.");
         }
     }
+
+    // Métricas con solo comparaciones y swaps (sin movimientos ni extracciones registradas).
+    public SortMetrics(long comparisons, long swaps) {
+        this(comparisons, swaps, 0, 0);
+    }
 }
@@ -0,0 +1,39 @@
+package ed.u2.sorting;
+
+/**
+ * Gancho de instrumentación para los algoritmos de ordenación.
+ * Los algoritmos lo llaman en sus bucles internos con contadores primitivos (sin crear objetos),
+ * separando comparaciones, intercambios, movimientos de elementos (escrituras en el array) y extracciones de clave.
+ * Un intercambio cuenta también como 2 movimientos: el algoritmo reporta ambos por separado.
+ */
+public interface SortProbe {
+
+    // Gancho vacío: equivale a no medir nada.
+    SortProbe NONE = new SortProbe() {
+        @Override public void comparisons(long n) {}
+        @Override public void swaps(long n) {}
+        @Override public void moves(long n) {}
+        @Override public void keyExtractions(long n) {}
+    };
+
+    void comparisons(long n);
+
+    void swaps(long n);
+
+    void moves(long n);
+
+    void keyExtractions(long n);
+
+    /**
+     * Fin de una pasada externa de un algoritmo cuadrático (una pasada de BubbleSort, una posición fijada por
+     * SelectionSort, un elemento insertado por InsertionSort). Si devuelve false, el algoritmo se detiene ahí,
+     * dejando el array como una permutación de la entrada. Por defecto siempre deja continuar.
+     *
+     * @param completed Pasadas terminadas.
+     * @param total Pasadas que haría el algoritmo en el peor caso.
+     * @return true para seguir ordenando; false para detenerse.
+     */
+    default boolean pass(long completed, long total) {
+        return true;
+    }
+}
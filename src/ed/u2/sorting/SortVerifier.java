@@ -0,0 +1,186 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Verifica en O(n) que la salida de un algoritmo esté ordenada por la clave de un KeyExtractor, sea una permutación
+ * de la entrada (por identidad de los objetos) y, si se pide, que sea estable.
+ *
+ * Al crearse etiqueta cada elemento con su índice original y calcula una sola vez la salida estable de referencia
+ * (O(n log n)). Cada verificación recorre la salida una vez:
+ * - Si en cada posición está el mismo objeto que en la referencia, la salida es ordenada, estable y una permutación,
+ *   sin extraer ninguna clave.
+ * - Si no, se compara la clave de cada posición con la de la referencia y se cuentan las apariciones de cada objeto
+ *   (búsqueda por identidad, sin crear objetos): con las mismas claves posición a posición y los mismos objetos,
+ *   la salida está ordenada aunque no sea estable.
+ * Los arrays grandes se recorren por bloques en paralelo. Una instancia no es thread-safe (reutiliza sus contadores).
+ *
+ * @param <T> Tipo de los elementos.
+ */
+public final class SortVerifier<T> {
+
+    // A partir de este tamaño check() recorre la salida por bloques en paralelo.
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int CHUNK = 1 << 14;
+
+    private final KeyExtractor<T, ? extends Comparable<?>> keyExtractor;
+    private final T[] expected;
+    private final Comparable<Object>[] expectedKeys;
+    private final int[] expectedIndex;
+
+    // Cada objeto distinto se identifica por su primera posición en la salida de referencia. Se crean recién
+    // cuando una salida difiere de la referencia (nunca para los algoritmos estables).
+    private IdentityHashMap<T, Integer> slots;
+    private int[] expectedCount;
+    private int[] seen;
+
+    /**
+     * Resultado de una verificación.
+     *
+     * @param sorted true si las claves quedaron en orden no decreciente.
+     * @param permutation true si la salida tiene exactamente los mismos objetos que la entrada.
+     * @param stable true si, además, los elementos de igual clave conservan su orden original.
+     * @param firstError Primera posición donde la salida difiere de lo esperado (-1 si es estable).
+     * @param message Descripción del primer problema encontrado (vacía si es estable).
+     */
+    public record Report(boolean sorted, boolean permutation, boolean stable, int firstError, String message) {
+
+        // true si la salida es una ordenación válida; si 'requireStable', además estable.
+        public boolean valid(boolean requireStable) {
+            return sorted && permutation && (stable || !requireStable);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private SortVerifier(T[] original, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        int n = original.length;
+
+        // Etiqueta: índice original de cada elemento. Se ordenan los índices (Arrays.sort de objetos es estable).
+        Comparable<Object>[] keys = (Comparable<Object>[]) new Comparable<?>[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (Comparable<Object>) keyExtractor.extract(original[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> keys[x].compareTo(keys[y]));
+
+        expected = original.clone();
+        expectedKeys = (Comparable<Object>[]) new Comparable<?>[n];
+        expectedIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            int from = order[i];
+            expected[i] = original[from];
+            expectedKeys[i] = keys[from];
+            expectedIndex[i] = from;
+        }
+    }
+
+    /**
+     * Prepara la verificación de ordenaciones de 'original' (no lo modifica).
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param original La entrada, antes de ordenar.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return El verificador.
+     */
+    public static <T> SortVerifier<T> of(T[] original, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        return new SortVerifier<>(original, keyExtractor);
+    }
+
+    // Verifica 'sorted', en paralelo si tiene al menos PARALLEL_THRESHOLD elementos.
+    public Report check(T[] sorted) {
+        return check(sorted, sorted != null && sorted.length >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Verifica una salida ordenada a partir de la entrada de este verificador.
+     *
+     * @param sorted La salida del algoritmo.
+     * @param parallel true para recorrerla por bloques en paralelo.
+     * @return El resultado de la verificación.
+     */
+    public Report check(T[] sorted, boolean parallel) {
+        int n = expected.length;
+        if (sorted == null || sorted.length != n) {
+            return new Report(false, false, false, 0, "se esperaban " + n + " elementos y hay "
+                    + (sorted == null ? "null" : sorted.length));
+        }
+
+        // 1) Identidad y claves, posición a posición. Cada bloque devuelve su primera diferencia de objeto y de clave.
+        int[] firsts;
+        if (parallel) {
+            firsts = IntStream.range(0, (n + CHUNK - 1) / CHUNK).parallel()
+                    .mapToObj(c -> scan(sorted, c * CHUNK, Math.min(n, (c + 1) * CHUNK)))
+                    .reduce(new int[] { n, n }, (x, y) -> new int[] { Math.min(x[0], y[0]), Math.min(x[1], y[1]) });
+        } else {
+            firsts = scan(sorted, 0, n);
+        }
+        int firstDiff = firsts[0];
+        int firstKeyDiff = firsts[1];
+        if (firstDiff == n) {
+            return new Report(true, true, true, -1, "");
+        }
+
+        // 2) Mismos objetos, contando apariciones por identidad.
+        int foreign = countOccurrences(sorted);
+        boolean permutation = foreign < 0 && Arrays.equals(seen, expectedCount);
+        if (!permutation) {
+            int at = foreign >= 0 ? foreign : firstDiff;
+            return new Report(SortingUtils.isSorted(sorted, keyExtractor), false, false, at, foreign >= 0
+                    ? "el elemento de la posición " + at + " no está en la entrada"
+                    : "la salida no es una permutación de la entrada (faltan o sobran elementos)");
+        }
+
+        // 3) Con los mismos objetos, está ordenada si las claves coinciden con las de la referencia.
+        if (firstKeyDiff < n) {
+            return new Report(false, true, false, firstKeyDiff, "desorden en la posición " + firstKeyDiff
+                    + ": clave " + keyExtractor.extract(sorted[firstKeyDiff]) + ", se esperaba " + expectedKeys[firstKeyDiff]);
+        }
+        return new Report(true, true, false, firstDiff, "inestable en la posición " + firstDiff
+                + ": clave " + expectedKeys[firstDiff] + ", se esperaba el elemento de índice original "
+                + expectedIndex[firstDiff]);
+    }
+
+    // Primera posición de [from, to) con otro objeto y primera con otra clave (n si no hay).
+    private int[] scan(T[] sorted, int from, int to) {
+        int n = expected.length;
+        int firstDiff = n;
+        int firstKeyDiff = n;
+        for (int i = from; i < to; i++) {
+            if (sorted[i] == expected[i]) continue;
+            if (firstDiff == n) firstDiff = i;
+            if (sorted[i] == null || expectedKeys[i].compareTo(keyExtractor.extract(sorted[i])) != 0) {
+                firstKeyDiff = i;
+                break;
+            }
+        }
+        return new int[] { firstDiff, firstKeyDiff };
+    }
+
+    // Cuenta en 'seen' las apariciones de cada objeto. Devuelve la primera posición con un objeto ajeno, o -1.
+    private int countOccurrences(T[] sorted) {
+        if (slots == null) {
+            int n = expected.length;
+            slots = new IdentityHashMap<>(n);
+            expectedCount = new int[n];
+            seen = new int[n];
+            for (int i = 0; i < n; i++) {
+                Integer slot = slots.putIfAbsent(expected[i], i);
+                expectedCount[slot == null ? i : slot]++;
+            }
+        }
+        Arrays.fill(seen, 0);
+        for (int i = 0; i < sorted.length; i++) {
+            Integer slot = slots.get(sorted[i]);
+            if (slot == null) return i;
+            seen[slot]++;
+        }
+        return -1;
+    }
+}
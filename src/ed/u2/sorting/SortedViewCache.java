@@ -0,0 +1,243 @@
+package ed.u2.sorting;
+
+import ed.u2.utils.KeyExtractor;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+
+/**
+ * Caché de vistas ordenadas para pedidos repetidos del mismo dataset ordenado por la misma clave: en vez de copiar
+ * y reordenar en cada pedido, la primera vez se ordena una copia (NaturalMergeSort, estable) y las siguientes se
+ * devuelve la misma vista, de solo lectura y sin copiar.
+ *
+ * - Clave: identidad del array fuente, su versión y la identidad del KeyExtractor (conviene reutilizar la misma
+ *   instancia, p. ej., una constante; dos referencias a método iguales escritas en lugares distintos son objetos
+ *   distintos y no comparten vista).
+ * - Invalidación: al pedir una versión nueva de una fuente se descartan sus vistas anteriores; invalidate() las
+ *   descarta explícitamente (p. ej., después de modificar el array en el lugar).
+ * - Desalojo por peso: cada vista pesa su número de elementos y, si el total supera el máximo, se desalojan las
+ *   menos usadas recientemente (LRU). Una vista más pesada que el máximo se ordena pero no se guarda.
+ * - La caché no retiene las fuentes: la clave guarda una referencia débil al array, así que el peso solo cuenta las
+ *   copias ordenadas. Cuando el GC recolecta una fuente, sus vistas se descartan en la siguiente operación.
+ * - Pedidos concurrentes de una vista que se está ordenando esperan ese mismo resultado: la ordenación corre una vez.
+ * Es thread-safe; la ordenación se hace fuera del lock.
+ */
+public final class SortedViewCache {
+
+    private final long maxWeight;
+
+    // En orden de acceso: el primero es el menos usado recientemente.
+    private final LinkedHashMap<ViewKey, View> views = new LinkedHashMap<>(16, 0.75f, true);
+    // Claves cuya fuente ya recolectó el GC.
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Contadores de la caché.
+     *
+     * @param hits Pedidos servidos con una vista ya ordenada.
+     * @param misses Pedidos que ordenaron (incluye las vistas demasiado pesadas para guardarse).
+     * @param coalesced Pedidos que esperaron una ordenación en curso en vez de repetirla.
+     * @param evictions Vistas desalojadas por peso.
+     * @param invalidations Vistas descartadas por una versión nueva de su fuente, por invalidate() o porque el GC
+     *                      recolectó su fuente.
+     * @param views Vistas guardadas actualmente.
+     * @param weight Peso total guardado (elementos).
+     */
+    public record Stats(long hits, long misses, long coalesced, long evictions, long invalidations, int views,
+            long weight) {
+
+        // Fracción de pedidos que no ordenaron (aciertos y pedidos coalescidos).
+        public double hitRate() {
+            long requests = hits + misses + coalesced;
+            return requests == 0 ? 0 : (double) (hits + coalesced) / requests;
+        }
+    }
+
+    /**
+     * @param maxWeight Máximo de elementos guardados entre todas las vistas (> 0).
+     */
+    public SortedViewCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("El peso máximo debe ser positivo: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Devuelve 'source' ordenado de forma estable por 'keyExtractor', desde la caché si ya se ordenó esa versión.
+     * La vista es una lista de solo lectura compartida entre todos los pedidos; 'source' no se modifica.
+     *
+     * @param <T> El tipo de elementos en el array.
+     * @param source Array fuente (se identifica por identidad, no por contenido).
+     * @param version Versión de la fuente: quien la modifica debe pedir la vista con una versión distinta.
+     * @param keyExtractor Función para obtener la clave comparable de cada elemento T.
+     * @return La vista ordenada.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> view(T[] source, long version, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        ViewKey key = new ViewKey(source, version, keyExtractor, collected);
+        int size = source.length;
+        View view;
+        boolean owner = false;
+
+        synchronized (this) {
+            expungeCollected();
+            view = views.get(key);
+            if (view == null) {
+                misses++;
+                invalidations += removeIf(k -> k.get() == source && k.version != version);
+                owner = true;
+                if (size <= maxWeight) {
+                    view = new View(size);
+                    views.put(key, view);
+                    weight += size;
+                    evictOverweight();
+                }
+            } else if (view.result.isDone()) {
+                hits++;
+            } else {
+                coalesced++;
+            }
+        }
+
+        // Demasiado pesada para guardarse: se ordena sin pasar por la caché.
+        if (view == null) {
+            return sort(source, keyExtractor);
+        }
+
+        if (owner) {
+            try {
+                view.result.complete(sort(source, keyExtractor));
+            } catch (RuntimeException | Error e) {
+                // Se libera el lugar para que otro pedido pueda reintentar; quienes esperaban reciben el error.
+                synchronized (this) {
+                    if (views.remove(key, view)) weight -= view.weight;
+                }
+                view.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return (List<T>) view.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    // Descarta todas las vistas de 'source' (p. ej., tras modificarlo en el lugar sin cambiar la versión).
+    public synchronized void invalidate(Object[] source) {
+        expungeCollected();
+        invalidations += removeIf(k -> k.get() == source);
+    }
+
+    // Descarta todas las vistas (no cuenta como invalidación ni reinicia los contadores).
+    public synchronized void clear() {
+        views.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        expungeCollected();
+        return new Stats(hits, misses, coalesced, evictions, invalidations, views.size(), weight);
+    }
+
+    private static <T> List<T> sort(T[] source, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        T[] sorted = SortingUtils.copy(source);
+        NaturalMergeSort.sortUncounted(sorted, keyExtractor);
+        return Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+
+    // Desaloja las vistas menos usadas recientemente hasta volver al peso máximo (la recién agregada es la última).
+    private void evictOverweight() {
+        Iterator<View> it = views.values().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            View eldest = it.next();
+            it.remove();
+            weight -= eldest.weight;
+            evictions++;
+        }
+    }
+
+    // Descarta las vistas cuya fuente recolectó el GC (ya nadie puede pedirlas con la misma clave).
+    private void expungeCollected() {
+        for (Object ref; (ref = collected.poll()) != null; ) {
+            View view = views.remove(ref);
+            if (view != null) {
+                weight -= view.weight;
+                invalidations++;
+            }
+        }
+    }
+
+    private int removeIf(Predicate<ViewKey> stale) {
+        int removed = 0;
+        for (Iterator<Map.Entry<ViewKey, View>> it = views.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<ViewKey, View> e = it.next();
+            if (stale.test(e.getKey())) {
+                it.remove();
+                weight -= e.getValue().weight;
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Vista guardada: el resultado puede estar todavía en cálculo. Quien ya la obtuvo la conserva aunque se desaloje.
+    private static final class View {
+        final CompletableFuture<List<?>> result = new CompletableFuture<>();
+        final long weight;
+
+        View(long weight) {
+            this.weight = weight;
+        }
+    }
+
+    // Clave por identidad de la fuente y del extractor, más la versión. La fuente se referencia débilmente para no
+    // retenerla; el hash se calcula al crearla, así una clave cuya fuente se recolectó se puede seguir quitando.
+    private static final class ViewKey extends WeakReference<Object> {
+        final long version;
+        final Object keyExtractor;
+        final int hash;
+
+        ViewKey(Object source, long version, Object keyExtractor, ReferenceQueue<Object> queue) {
+            super(source, queue);
+            this.version = version;
+            this.keyExtractor = keyExtractor;
+            this.hash = 31 * (31 * System.identityHashCode(source) + Long.hashCode(version))
+                    + System.identityHashCode(keyExtractor);
+        }
+
+        // Una clave recolectada solo es igual a sí misma.
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            Object source = get();
+            return source != null && o instanceof ViewKey k && k.get() == source && k.version == version
+                    && k.keyExtractor == keyExtractor;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -2,8 +2,112 @@ package ed.u2.sorting;
 
 import ed.u2.utils.KeyExtractor;
 
+import java.util.function.BiConsumer;
+
 // Interfaz funcional que representa un algoritmo de ordenación.
 @FunctionalInterface
 public interface SortingAlgorithm<T> {
+    // Ordena contando comparaciones, swaps, movimientos y extracciones de clave.
     SortMetrics sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor);
+
+    // Ordena sin contar nada: es la variante que se cronometra. Por defecto reutiliza la versión instrumentada.
+    default void sortUncounted(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        sort(arr, keyExtractor);
+    }
+
+    // Ordena reportando los contadores a 'probe'. Los algoritmos que reportan pasadas (SortProbe.pass) pueden
+    // detenerse a mitad; por defecto se ordena con sort y las métricas se vuelcan al final.
+    default void sortProbed(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+        SortMetrics m = sort(arr, keyExtractor);
+        probe.comparisons(m.comparisons());
+        probe.swaps(m.swaps());
+        probe.moves(m.moves());
+        probe.keyExtractions(m.keyExtractions());
+    }
+
+    // Número de hilos que usa el algoritmo (1 para los algoritmos secuenciales).
+    default int threads() {
+        return 1;
+    }
+
+    // true si el algoritmo garantiza estabilidad (runBenchmark lo verifica en cada corrida). Por defecto no.
+    default boolean stable() {
+        return false;
+    }
+
+    // Combina una versión instrumentada y una versión sin conteo en un solo algoritmo.
+    static <T> SortingAlgorithm<T> of(SortingAlgorithm<T> counted,
+                                      BiConsumer<T[], KeyExtractor<T, ? extends Comparable<?>>> uncounted) {
+        return new SortingAlgorithm<>() {
+            @Override
+            public SortMetrics sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                return counted.sort(arr, keyExtractor);
+            }
+
+            @Override
+            public void sortUncounted(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                uncounted.accept(arr, keyExtractor);
+            }
+        };
+    }
+
+    // Declara estable un algoritmo: delega todo en 'algorithm' y stable() devuelve true.
+    static <T> SortingAlgorithm<T> stable(SortingAlgorithm<T> algorithm) {
+        return new SortingAlgorithm<>() {
+            @Override
+            public SortMetrics sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                return algorithm.sort(arr, keyExtractor);
+            }
+
+            @Override
+            public void sortUncounted(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                algorithm.sortUncounted(arr, keyExtractor);
+            }
+
+            @Override
+            public void sortProbed(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+                algorithm.sortProbed(arr, keyExtractor, probe);
+            }
+
+            @Override
+            public int threads() {
+                return algorithm.threads();
+            }
+
+            @Override
+            public boolean stable() {
+                return true;
+            }
+        };
+    }
+
+    // Versión de un algoritmo que recibe el gancho de instrumentación (p. ej., BubbleSort::sort con SortProbe).
+    @FunctionalInterface
+    interface Probed<T> {
+        void sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe);
+    }
+
+    // Como of(), pero a partir de la versión con gancho: sort cuenta con un CountingProbe y sortProbed le pasa el
+    // gancho recibido, así el algoritmo puede detenerse en SortProbe.pass.
+    static <T> SortingAlgorithm<T> probed(Probed<T> probed,
+                                          BiConsumer<T[], KeyExtractor<T, ? extends Comparable<?>>> uncounted) {
+        return new SortingAlgorithm<>() {
+            @Override
+            public SortMetrics sort(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                CountingProbe probe = new CountingProbe();
+                probed.sort(arr, keyExtractor, probe);
+                return probe.toMetrics();
+            }
+
+            @Override
+            public void sortUncounted(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+                uncounted.accept(arr, keyExtractor);
+            }
+
+            @Override
+            public void sortProbed(T[] arr, KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortProbe probe) {
+                probed.sort(arr, keyExtractor, probe);
+            }
+        };
+    }
 }
@@ -26,41 +26,106 @@ public class SortingUtils {
         return true;
     }
 
+    // Verifica si el arreglo está ordenado de forma ascendente por la clave de 'keyExtractor' (false si hay nulos).
+    @SuppressWarnings("unchecked")
+    public static <T> boolean isSorted(T[] a, KeyExtractor<T, ? extends Comparable<?>> keyExtractor) {
+        if (a == null || a.length < 2) return true;
+
+        for (int i = 0; i < a.length - 1; i++) {
+            if (a[i] == null || a[i + 1] == null) return false;
+            Comparable<Object> left = (Comparable<Object>) keyExtractor.extract(a[i]);
+            if (left.compareTo(keyExtractor.extract(a[i + 1])) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // Crea y devuelve una copia superficial del arreglo original.
     @SuppressWarnings("unchecked")
     public static <T> T[] copy(T[] original) {
         return (original == null) ? null : (T[]) original.clone();
     }
 
-    // Ejecuta el algoritmo de ordenación R veces para obtener métricas y tiempos confiables.
+    // Ejecuta el algoritmo de ordenación R veces y conserva todas las muestras de tiempo (salvo el calentamiento).
+    // Las corridas cronometradas usan sortUncounted (sin contadores); las métricas salen de una corrida
+    // instrumentada aparte, fuera de la región medida (los conteos son deterministas para una misma entrada).
+    // Alrededor de cada corrida medida se leen el contador de bytes asignados del hilo y los contadores del GC.
+    // Después de cada corrida, fuera de la región medida, SortVerifier comprueba que la salida esté ordenada, sea una
+    // permutación de la entrada y, si el algoritmo se declara estable, que lo sea; si no, lanza IllegalStateException.
     public static <T> BenchmarkResult runBenchmark(String algorithmName, String datasetName, String datasetType, T[] original,
                                                    KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortingAlgorithm<T> algorithm) {
+        return runBenchmark(algorithmName, datasetName, datasetType, original, keyExtractor, algorithm,
+                SortVerifier.of(original, keyExtractor));
+    }
+
+    // Igual que runBenchmark, con un verificador ya preparado para 'original' (para compartirlo entre algoritmos).
+    public static <T> BenchmarkResult runBenchmark(String algorithmName, String datasetName, String datasetType, T[] original,
+                                                   KeyExtractor<T, ? extends Comparable<?>> keyExtractor, SortingAlgorithm<T> algorithm,
+                                                   SortVerifier<T> verifier) {
 
         final int R = 10; // Número de repeticiones para la medición.
+        final int WARMUP = 3; // Corridas de calentamiento que no se reportan.
         long[] times = new long[R];
-        long totalComparisons = 0;
-        long totalSwaps = 0;
+        long[] allocated = new long[R];
+        long gcCount = 0;
+        long gcTime = 0;
 
-        // Bucle de ejecuciones: corre el algoritmo R veces para obtener promedios.
+        // Bucle de ejecuciones: corre el algoritmo R veces sin métricas.
         for (int i = 0; i < R; i++) {
             T[] copy = copy(original); // Utiliza una copia para no alterar el arreglo original.
 
+            long gcCountBefore = AllocationStats.totalGcCount();
+            long gcTimeBefore = AllocationStats.totalGcTimeMillis();
+            long allocBefore = AllocationStats.currentThreadAllocatedBytes();
+
             long start = System.nanoTime();
-            SortMetrics metrics = algorithm.sort(copy, keyExtractor); // Ejecuta el algoritmo de ordenación.
+            algorithm.sortUncounted(copy, keyExtractor); // Ejecuta el algoritmo de ordenación.
             long end = System.nanoTime();
 
+            allocated[i] = allocBefore < 0 ? -1 : AllocationStats.currentThreadAllocatedBytes() - allocBefore;
             times[i] = end - start;
-            totalComparisons += metrics.comparisons(); // Acumula el total de comparaciones.
-            totalSwaps += metrics.swaps(); // Acumula el total de intercambios.
+            if (i >= WARMUP) {
+                gcCount += AllocationStats.totalGcCount() - gcCountBefore;
+                gcTime += AllocationStats.totalGcTimeMillis() - gcTimeBefore;
+            }
+
+            verify(algorithmName, algorithm, verifier, copy);
         }
 
-        // Descarta las primeras 3 corridas (fase de "calentamiento") y calcula la mediana del tiempo.
-        long[] valid = Arrays.copyOfRange(times, 3, R);
-        Arrays.sort(valid);
-        long median = valid[valid.length / 2];
+        // Descarta las corridas de calentamiento; el resto son las muestras del resultado.
+        TimingStats timing = TimingStats.of(Arrays.copyOfRange(times, WARMUP, R));
+        long[] measuredAlloc = Arrays.copyOfRange(allocated, WARMUP, R);
+        Arrays.sort(measuredAlloc);
+        AllocationStats allocation = new AllocationStats(measuredAlloc[measuredAlloc.length / 2],
+                measuredAlloc[measuredAlloc.length - 1], gcCount, gcTime);
+
+        // Corrida instrumentada para obtener comparaciones, swaps, movimientos y extracciones de clave.
+        T[] counted = copy(original);
+        SortMetrics metrics = algorithm.sort(counted, keyExtractor);
+        verify(algorithmName, algorithm, verifier, counted);
+
+        return new BenchmarkResult(algorithmName, datasetName, datasetType, original.length, metrics, timing, allocation,
+                algorithm.threads());
+    }
+
+    // Lanza IllegalStateException si la salida no es una ordenación válida (o no es estable y debía serlo).
+    private static <T> void verify(String algorithmName, SortingAlgorithm<T> algorithm, SortVerifier<T> verifier,
+                                   T[] sorted) {
+        SortVerifier.Report report = verifier.check(sorted);
+        if (!report.valid(algorithm.stable())) {
+            throw new IllegalStateException(algorithmName + " produjo una salida inválida: " + report.message());
+        }
+    }
 
-        // Retorna el resultado, promediando las métricas de todas las corridas.
-        return new BenchmarkResult(algorithmName, datasetName, datasetType, original.length, totalComparisons / R,
-                totalSwaps / R, median);
+    // Ejecuta el mismo algoritmo sin y con caché de claves, para reportar ambas corridas lado a lado.
+    public static <T> BenchmarkResult[] runBenchmarkWithKeyCache(String algorithmName, String datasetName, String datasetType,
+                                                                 T[] original, KeyExtractor<T, ? extends Comparable<?>> keyExtractor,
+                                                                 SortingAlgorithm<T> algorithm,
+                                                                 SortingAlgorithm<KeyCachedSort.Entry<T>> cachedAlgorithm) {
+        BenchmarkResult uncached = runBenchmark(algorithmName, datasetName, datasetType, original, keyExtractor, algorithm);
+        BenchmarkResult cached = runBenchmark(algorithmName + "+KeyCache", datasetName, datasetType, original, keyExtractor,
+                KeyCachedSort.wrap(cachedAlgorithm));
+        return new BenchmarkResult[] { uncached, cached };
     }
 }
@@ -0,0 +1,104 @@
+package ed.u2.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas de las muestras de tiempo de un benchmark (todas en nanosegundos).
+ * Los percentiles usan el método del rango más cercano sobre las muestras ordenadas.
+ * El intervalo de confianza del 95% para la media usa la t de Student con n-1 grados de libertad.
+ * Los valores atípicos se detectan con las vallas de Tukey: fuera de [Q1 - 1.5·IQR, Q3 + 1.5·IQR].
+ *
+ * @param samples Muestras en el orden en que se midieron.
+ * @param min Tiempo mínimo.
+ * @param p50 Mediana.
+ * @param p90 Percentil 90.
+ * @param p99 Percentil 99.
+ * @param max Tiempo máximo.
+ * @param mean Media aritmética.
+ * @param stdDev Desviación estándar muestral (0 si hay una sola muestra).
+ * @param ci95Low Límite inferior del intervalo de confianza del 95% para la media.
+ * @param ci95High Límite superior del intervalo de confianza del 95% para la media.
+ * @param outliers Número de muestras atípicas.
+ */
+public record TimingStats(long[] samples, long min, long p50, long p90, long p99, long max, double mean, double stdDev,
+        double ci95Low, double ci95High, int outliers) {
+
+    // Valores críticos t (dos colas, 95%) para 1..30 grados de libertad; por encima se usa la normal.
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_95 = 1.960;
+
+    /**
+     * Calcula las estadísticas de un conjunto de muestras.
+     *
+     * @param samplesNano Tiempos medidos en nanosegundos (al menos uno). No se modifica.
+     * @return Las estadísticas; conserva una copia de las muestras.
+     */
+    public static TimingStats of(long[] samplesNano) {
+        if (samplesNano == null || samplesNano.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos una muestra de tiempo.");
+        }
+
+        long[] samples = samplesNano.clone();
+        long[] sorted = samplesNano.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        double sum = 0;
+        for (long s : sorted) sum += s;
+        double mean = sum / n;
+
+        double sq = 0;
+        for (long s : sorted) sq += (s - mean) * (s - mean);
+        double stdDev = n > 1 ? Math.sqrt(sq / (n - 1)) : 0;
+
+        double halfWidth = n > 1 ? criticalT(n - 1) * stdDev / Math.sqrt(n) : 0;
+
+        // Vallas de Tukey sobre los cuartiles.
+        long q1 = percentile(sorted, 0.25);
+        long q3 = percentile(sorted, 0.75);
+        double iqr = q3 - q1;
+        double lowFence = q1 - 1.5 * iqr;
+        double highFence = q3 + 1.5 * iqr;
+        int outliers = 0;
+        for (long s : sorted) {
+            if (s < lowFence || s > highFence) outliers++;
+        }
+
+        return new TimingStats(samples, sorted[0], percentile(sorted, 0.50), percentile(sorted, 0.90),
+                percentile(sorted, 0.99), sorted[n - 1], mean, stdDev, mean - halfWidth, mean + halfWidth, outliers);
+    }
+
+    // Estadísticas de una única medición (p. ej., resultados antiguos que solo guardaban la mediana).
+    public static TimingStats single(long timeNano) {
+        return of(new long[] { timeNano });
+    }
+
+    public int count() {
+        return samples.length;
+    }
+
+    // Varianza muestral en ns².
+    public double variance() {
+        return stdDev * stdDev;
+    }
+
+    // Coeficiente de variación (desviación / media): útil para comparar la estabilidad entre tamaños distintos.
+    public double coefficientOfVariation() {
+        return mean == 0 ? 0 : stdDev / mean;
+    }
+
+    // Percentil por rango más cercano: el menor valor con al menos p·n muestras <= él.
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    // t crítica de dos colas al 95% para los grados de libertad dados (la normal por encima de 30).
+    static double criticalT(int degreesOfFreedom) {
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : Z_95;
+    }
+}
@@ -0,0 +1,144 @@
+package ed.u2.sorting;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Ordenación de long[] con la Vector API (jdk.incubator.vector), usada por SimdSort.
+ * Solo se carga si el módulo está disponible (--add-modules jdk.incubator.vector); si no, SimdSort usa Arrays.sort.
+ *
+ * Es un quicksort con partición vectorial: cada vector se compara contra el pivote y los lanes menores / mayores
+ * se compactan con un shuffle precalculado por máscara (la API de JDK 17 no tiene compress). Los menores se
+ * escriben en el mismo array, detrás de lo ya leído, y los mayores en un buffer auxiliar que luego se copia a
+ * continuación; el buffer lo provee quien llama para poder reutilizarlo entre llamadas. Los rangos de hasta LEAF elementos se terminan con Arrays.sort
+ * (ordenación por inserción): una red bitónica vectorial sobre 4 vectores resultó 3-5 veces más lenta que la
+ * inserción escalar para 16-32 long, porque cada paso dentro de un vector necesita rearrange + blend.
+ *
+ * Está pensada para claves únicas (SimdSort empaqueta clave e índice): con duplicados sigue siendo correcta,
+ * pero el pivote puede no reducir el rango y se cae antes en el límite de profundidad (Arrays.sort).
+ */
+final class VectorLongSort {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int ALL_LANES = (1 << LANES) - 1;
+
+    // Peso 1 << lane de cada lane: sumando los lanes de una máscara se obtienen sus bits como int.
+    // (VectorMask.toLong() no es intrínseco en JDK 17; blend + reduceLanes sí.)
+    private static final LongVector LANE_BITS = LongVector.fromArray(SPECIES, laneBits(), 0);
+    private static final LongVector ZERO = LongVector.zero(SPECIES);
+
+    // Rangos que se terminan con la ordenación por inserción de Arrays.sort (la usa por debajo de 47 elementos).
+    private static final int LEAF = 40;
+
+    // COMPACT[m]: lleva los lanes marcados en 'm' al inicio, en orden, y el resto detrás.
+    private static final VectorShuffle<Long>[] COMPACT = compactShuffles();
+
+    private VectorLongSort() {}
+
+    // true si la especie preferida tiene 8 lanes (vectores de 512 bits). Con 2 o 4 lanes, en JDK 17 la partición
+    // vectorial de long resultó más lenta que Arrays.sort (con 2 lanes ni siquiera se compila a instrucciones SIMD).
+    static boolean supported() {
+        return LANES == 8;
+    }
+
+    // Tamaño mínimo del buffer auxiliar para ordenar n elementos.
+    static int scratchLength(int n) {
+        return n + LANES;
+    }
+
+    /**
+     * Ordena a[0, n).
+     *
+     * @param a El array a ordenar in-place.
+     * @param n Cantidad de elementos a ordenar desde el inicio.
+     * @param scratch Buffer auxiliar de al menos scratchLength(n) elementos (su contenido se pisa).
+     */
+    static void sort(long[] a, int n, long[] scratch) {
+        if (n < 2) return;
+        if (n <= LEAF) {
+            Arrays.sort(a, 0, n);
+            return;
+        }
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(n));
+        quicksort(a, 0, n, depthLimit, scratch);
+    }
+
+    private static void quicksort(long[] a, int lo, int hi, int depth, long[] high) {
+        while (hi - lo > LEAF) {
+            if (depth-- == 0) {
+                Arrays.sort(a, lo, hi);
+                return;
+            }
+            long pivot = median(a[lo], a[lo + (hi - lo) / 2], a[hi - 1]);
+            int mid = lo + partition(a, lo, hi, pivot, high);
+
+            // Se recurre por el lado más corto y se itera por el más largo: pila O(log n).
+            if (mid - lo < hi - mid) {
+                quicksort(a, lo, mid, depth, high);
+                lo = mid;
+            } else {
+                quicksort(a, mid, hi, depth, high);
+                hi = mid;
+            }
+        }
+        Arrays.sort(a, lo, hi);
+    }
+
+    // Deja en [lo, lo + r) los menores que 'pivot' y en [lo + r, hi) el resto, conservando su orden. Devuelve r.
+    private static int partition(long[] a, int lo, int hi, long pivot, long[] high) {
+        LongVector p = LongVector.broadcast(SPECIES, pivot);
+        int nl = 0;
+        int nh = 0;
+        int i = lo;
+        for (; i <= hi - LANES; i += LANES) {
+            LongVector v = LongVector.fromArray(SPECIES, a, i);
+            int less = (int) ZERO.blend(LANE_BITS, v.lt(p)).reduceLanes(VectorOperators.OR);
+            int count = Integer.bitCount(less);
+            // Se escribe el vector completo; los lanes sobrantes los pisa la escritura siguiente. Los menores van a
+            // a[lo + nl, lo + nl + LANES), que no pasa de i + LANES: solo pisa posiciones ya leídas.
+            v.rearrange(COMPACT[less]).intoArray(a, lo + nl);
+            v.rearrange(COMPACT[less ^ ALL_LANES]).intoArray(high, nh);
+            nl += count;
+            nh += LANES - count;
+        }
+        for (; i < hi; i++) {
+            long x = a[i];
+            if (x < pivot) a[lo + nl++] = x;
+            else high[nh++] = x;
+        }
+        System.arraycopy(high, 0, a, lo + nl, nh);
+        return nl;
+    }
+
+    private static long median(long x, long y, long z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+
+    private static long[] laneBits() {
+        long[] bits = new long[LANES];
+        for (int lane = 0; lane < LANES; lane++) bits[lane] = 1L << lane;
+        return bits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Long>[] compactShuffles() {
+        VectorShuffle<Long>[] shuffles = (VectorShuffle<Long>[]) new VectorShuffle<?>[1 << LANES];
+        int[] order = new int[LANES];
+        for (int m = 0; m < shuffles.length; m++) {
+            int pos = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((m & (1 << lane)) != 0) order[pos++] = lane;
+            }
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((m & (1 << lane)) == 0) order[pos++] = lane;
+            }
+            shuffles[m] = VectorShuffle.fromArray(SPECIES, order, 0);
+        }
+        return shuffles;
+    }
+}
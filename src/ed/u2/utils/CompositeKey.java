@@ -0,0 +1,259 @@
+package ed.u2.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Clave compuesta precompilada: ordena por varias claves en cascada (p. ej., prioridad, luego apellido, luego id).
+ * Al construirla, la cadena de extractores se compila en un solo Comparator anidado que compara componente
+ * a componente y se detiene en la primera diferencia. Los componentes int / long se comparan sin boxing.
+ *
+ * Para usarla con cualquier algoritmo del paquete sorting se pasa extractor(): envuelve el elemento en un Key
+ * cuyo compareTo aplica la cadena compilada. Cada extracción crea un Key nuevo y los algoritmos extraen la clave
+ * en cada comparación (dos objetos por comparación), así que conviene ordenar con KeyCachedSort.wrap, que envuelve
+ * cada elemento una sola vez. No se crean tuplas con los valores: cada componente se lee solo al comparar.
+ *
+ * Si todos los componentes son primitivos y sus anchos suman a lo sumo 64 bits, la clave además se puede
+ * empaquetar en un solo long normalizado (asLong()), apto para RadixSort.sortByLong.
+ */
+public final class CompositeKey<T> {
+
+    // Componente de la cadena: compara y aporta al hash.
+    private interface Component<T> {
+        int compare(T x, T y);
+
+        int hash(T t);
+    }
+
+    // Componente primitivo: además sabe empaquetarse en pocos bits.
+    private interface PackableComponent<T> extends Component<T> {
+        // Bits que ocupa empaquetado.
+        int bits();
+
+        // Valor sin signo normalizado, en 'bits()' bits, que conserva el orden.
+        long packed(T t);
+    }
+
+    private final Comparator<T> comparator;
+    private final List<Component<T>> components;
+    // Los mismos componentes si todos son empaquetables; null si alguno no lo es.
+    private final List<PackableComponent<T>> packableComponents;
+    private final int packedBits;
+
+    private CompositeKey(List<Component<T>> components) {
+        this.components = List.copyOf(components);
+        this.comparator = compile(this.components, 0);
+
+        List<PackableComponent<T>> packable = new ArrayList<>();
+        int bits = 0;
+        for (Component<T> c : this.components) {
+            if (!(c instanceof PackableComponent<T> p)) {
+                packable = null;
+                bits = Integer.MAX_VALUE;
+                break;
+            }
+            packable.add(p);
+            bits += p.bits();
+        }
+        this.packableComponents = packable == null ? null : List.copyOf(packable);
+        this.packedBits = bits;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    // Comparator compilado: compara componente a componente y se detiene en la primera diferencia.
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    // Extractor para los algoritmos del paquete sorting: crea un Key por llamada (usar con KeyCachedSort.wrap).
+    public KeyExtractor<T, Key<T>> extractor() {
+        return t -> new Key<>(t, this);
+    }
+
+    // true si todos los componentes caben juntos en un long (ver asLong()).
+    public boolean packable() {
+        return packedBits <= Long.SIZE;
+    }
+
+    /**
+     * Empaqueta la clave completa en un long con signo cuyo orden natural coincide con el de la cadena.
+     * El primer componente ocupa los bits más significativos.
+     *
+     * @return Un extractor de claves long.
+     * @throws IllegalStateException Si algún componente no es primitivo o los anchos suman más de 64 bits.
+     */
+    public LongKeyExtractor<T> asLong() {
+        if (!packable()) {
+            throw new IllegalStateException("La clave compuesta no cabe en 64 bits.");
+        }
+
+        List<PackableComponent<T>> parts = packableComponents;
+        return t -> {
+            long packed = 0;
+            for (PackableComponent<T> c : parts) {
+                packed = (c.bits() == Long.SIZE ? 0 : packed << c.bits()) | c.packed(t);
+            }
+            // Se alinea a la izquierda y se invierte el bit de signo: el orden con signo pasa a ser el orden sin signo.
+            return (packedBits == Long.SIZE ? packed : packed << (Long.SIZE - packedBits)) ^ Long.MIN_VALUE;
+        };
+    }
+
+    // Anida los componentes desde 'i': cada nivel es una lambda propia, así el JIT puede inlinearlos por separado.
+    private static <T> Comparator<T> compile(List<Component<T>> components, int i) {
+        Component<T> head = components.get(i);
+        if (i == components.size() - 1) {
+            return head::compare;
+        }
+        Comparator<T> next = compile(components, i + 1);
+        return (x, y) -> {
+            int c = head.compare(x, y);
+            return c != 0 ? c : next.compare(x, y);
+        };
+    }
+
+    /**
+     * Elemento envuelto como clave comparable. Dos claves son iguales si todos sus componentes lo son.
+     *
+     * @param <T> El tipo del elemento.
+     */
+    public static final class Key<T> implements Comparable<Key<T>> {
+        private final T element;
+        private final CompositeKey<T> key;
+
+        private Key(T element, CompositeKey<T> key) {
+            this.element = element;
+            this.key = key;
+        }
+
+        public T element() {
+            return element;
+        }
+
+        @Override
+        public int compareTo(Key<T> other) {
+            return key.comparator.compare(element, other.element);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key<?> other) || other.key != key) return false;
+            @SuppressWarnings("unchecked")
+            Key<T> same = (Key<T>) other;
+            return compareTo(same) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = 1;
+            for (Component<T> c : key.components) h = 31 * h + c.hash(element);
+            return h;
+        }
+    }
+
+    // Construye la cadena de componentes en orden de prioridad.
+    public static final class Builder<T> {
+        private final List<Component<T>> components = new ArrayList<>();
+
+        private Builder() {}
+
+        // Componente comparable genérico (String, LocalDateTime, ...). No se puede empaquetar.
+        public Builder<T> then(KeyExtractor<T, ? extends Comparable<?>> extractor) {
+            components.add(new Component<>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public int compare(T x, T y) {
+                    return ((Comparable<Object>) extractor.extract(x)).compareTo(extractor.extract(y));
+                }
+
+                @Override
+                public int hash(T t) {
+                    return extractor.extract(t).hashCode();
+                }
+            });
+            return this;
+        }
+
+        // Componente int sin boxing; empaquetado ocupa 32 bits.
+        public Builder<T> thenInt(IntKeyExtractor<T> extractor) {
+            return thenInt(extractor, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Componente int con rango conocido: empaquetado ocupa solo los bits necesarios para [min, max].
+         *
+         * @param extractor Extractor de la clave int.
+         * @param min Valor mínimo posible.
+         * @param max Valor máximo posible.
+         */
+        public Builder<T> thenInt(IntKeyExtractor<T> extractor, int min, int max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Rango inválido: [" + min + ", " + max + "]");
+            }
+            long span = (long) max - min;
+            int bits = Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(span));
+            components.add(new PackableComponent<>() {
+                @Override
+                public int compare(T x, T y) {
+                    return Integer.compare(extractor.extractAsInt(x), extractor.extractAsInt(y));
+                }
+
+                @Override
+                public int hash(T t) {
+                    return extractor.extractAsInt(t);
+                }
+
+                @Override
+                public int bits() {
+                    return bits;
+                }
+
+                @Override
+                public long packed(T t) {
+                    int v = extractor.extractAsInt(t);
+                    if (v < min || v > max) {
+                        throw new IllegalArgumentException("Valor fuera del rango declarado: " + v);
+                    }
+                    return (long) v - min;
+                }
+            });
+            return this;
+        }
+
+        // Componente long sin boxing; empaquetado ocupa los 64 bits (solo cabe si es el único componente).
+        public Builder<T> thenLong(LongKeyExtractor<T> extractor) {
+            components.add(new PackableComponent<>() {
+                @Override
+                public int compare(T x, T y) {
+                    return Long.compare(extractor.extractAsLong(x), extractor.extractAsLong(y));
+                }
+
+                @Override
+                public int hash(T t) {
+                    return Long.hashCode(extractor.extractAsLong(t));
+                }
+
+                @Override
+                public int bits() {
+                    return Long.SIZE;
+                }
+
+                @Override
+                public long packed(T t) {
+                    return extractor.extractAsLong(t) ^ Long.MIN_VALUE;
+                }
+            });
+            return this;
+        }
+
+        public CompositeKey<T> build() {
+            if (components.isEmpty()) {
+                throw new IllegalStateException("La clave compuesta necesita al menos un componente.");
+            }
+            return new CompositeKey<>(components);
+        }
+    }
+}
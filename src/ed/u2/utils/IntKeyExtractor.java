@@ -0,0 +1,7 @@
+package ed.u2.utils;
+
+// Interfaz funcional que extrae una clave primitiva int de un objeto T (sin boxing a Integer).
+@FunctionalInterface
+public interface IntKeyExtractor<T> {
+    int extractAsInt(T t);
+}
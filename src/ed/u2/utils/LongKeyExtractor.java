@@ -0,0 +1,7 @@
+package ed.u2.utils;
+
+// Interfaz funcional que extrae una clave primitiva long de un objeto T (sin boxing a Long).
+@FunctionalInterface
+public interface LongKeyExtractor<T> {
+    long extractAsLong(T t);
+}